@@ -0,0 +1,179 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import cz.mroczis.nougatpagerindicator.core.DotCanvas;
+import cz.mroczis.nougatpagerindicator.core.DotLayout;
+import cz.mroczis.nougatpagerindicator.core.DotPainter;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+import cz.mroczis.nougatpagerindicator.testing.AllocationMeter;
+import cz.mroczis.nougatpagerindicator.testing.AllocationMeter.Scenario;
+
+/**
+ * Verifies that core code running in every frame does not allocate - {@link IndicatorState} processing scroll callbacks
+ * and glue changes and {@link DotPainter} walking dots. Android side of indicator (view, its canvas adapter and
+ * renderers) is not run here, names of checks therefore name core classes they exercise. The view is verified
+ * by {@code PagerIndicatorAllocationTest} in unit tests of the library.
+ * Each {@link Scenario} is measured by {@link AllocationMeter}.
+ * Custom targets of painter can be verified the same way by passing them to {@link #checkDraw(String, int, DotCanvas)},
+ * renderers which draw on Android canvas are verified by {@code DotRendererHarness} of module nougatpagerindicator-testing.
+ * <p>
+ * Run with ./gradlew :benchmarks:checkAllocations, process exits with non-zero code when any frame allocates.
+ * </p>
+ */
+
+public final class AllocationHarness {
+
+    private static final int[] DOTS_COUNTS = {10, 1000, 100000};
+
+    private final AllocationMeter mMeter = new AllocationMeter();
+    private int mFailures;
+
+    private AllocationHarness() {
+    }
+
+    public static void main(String[] args) {
+        AllocationHarness harness = new AllocationHarness();
+
+        for (int dotsCount : DOTS_COUNTS) {
+            harness.check("IndicatorState scroll", dotsCount, new ScrollScenario(dotsCount, 1));
+            harness.check("IndicatorState fling", dotsCount, new ScrollScenario(dotsCount, 4));
+            harness.check("IndicatorState glue", dotsCount, new GlueScenario(dotsCount, false));
+            harness.checkDraw("DotPainter scroll", dotsCount, new RecordingDotCanvas());
+            harness.check("DotPainter bounded", dotsCount, new DrawScenario(dotsCount, Fixtures.MAX_VISIBLE_DOTS, new RecordingDotCanvas()));
+            harness.check("DotPainter glue", dotsCount, new GlueScenario(dotsCount, true));
+        }
+
+        if (harness.mFailures > 0) {
+            System.err.println(harness.mFailures + " check(s) allocated in steady state");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Draws frames of scroll sequence into given canvas and reports bytes allocated per frame
+     *
+     * @param name      name of check printed into output
+     * @param dotsCount count of dots
+     * @param canvas    canvas which is verified
+     */
+    public void checkDraw(String name, int dotsCount, DotCanvas canvas) {
+        check(name, dotsCount, new DrawScenario(dotsCount, 0, canvas));
+    }
+
+    /**
+     * Runs scenario and reports bytes allocated per frame, any allocated byte fails the check
+     *
+     * @param name      name of check printed into output
+     * @param dotsCount count of dots
+     * @param scenario  verified code
+     */
+    public void check(String name, int dotsCount, Scenario scenario) {
+        double bytesPerFrame = mMeter.measureBytesPerFrame(scenario);
+
+        boolean passed = bytesPerFrame == 0D;
+        if (!passed) {
+            mFailures++;
+        }
+
+        System.out.println(String.format("%s %-22s dots=%-6d frames=%-5d bytes/frame=%.2f",
+                passed ? "OK  " : "FAIL", name, dotsCount, mMeter.getMeasuredFrames(), bytesPerFrame));
+    }
+
+    /**
+     * Scroll callbacks of user who swipes through all pages and back, glue transitions finish immediately
+     */
+    private static final class ScrollScenario implements Scenario {
+
+        private final IndicatorState mState = new IndicatorState();
+        private final float[] mSequence;
+
+        ScrollScenario(int dotsCount, int pagesPerStep) {
+            mSequence = Fixtures.createScrollSequence(Math.min(dotsCount, 50), 4, pagesPerStep);
+        }
+
+        @Override
+        public int run() {
+            int frames = 0;
+            for (int i = 0; i < mSequence.length; i += 2) {
+                Fixtures.scroll(mState, (int) mSequence[i], mSequence[i + 1]);
+                frames++;
+            }
+            return frames;
+        }
+    }
+
+    /**
+     * Frames of connecting and disconnecting two dots, optionally drawn
+     */
+    private static final class GlueScenario implements Scenario {
+
+        private final IndicatorState mState = new IndicatorState();
+        private final DotPainter mPainter;
+        private final RecordingDotCanvas mCanvas = new RecordingDotCanvas();
+        private final boolean mDraw;
+        private final int mPosition;
+
+        GlueScenario(int dotsCount, boolean draw) {
+            mPainter = new DotPainter(Fixtures.createLayout(dotsCount));
+            mDraw = draw;
+            mPosition = dotsCount / 2 - 1;
+        }
+
+        @Override
+        public int run() {
+            mState.connect(mPosition, mPosition + 1);
+            mState.setCurrentItem(mPosition);
+
+            for (int frame = 1; frame <= Fixtures.GLUE_FRAMES; ++frame) {
+                mState.setGlueRatio((float) frame / Fixtures.GLUE_FRAMES);
+                drawFrame();
+            }
+
+            mState.setCurrentItem(mPosition + 1);
+            mState.disconnect();
+            for (int frame = Fixtures.GLUE_FRAMES - 1; frame >= 0; --frame) {
+                mState.setGlueRatio((float) frame / Fixtures.GLUE_FRAMES);
+                drawFrame();
+            }
+
+            mState.onDisconnected();
+            mState.setCurrentItem(mPosition);
+            return 2 * Fixtures.GLUE_FRAMES;
+        }
+
+        private void drawFrame() {
+            if (mDraw) {
+                mPainter.paint(mState, 0, Fixtures.VIEW_WIDTH, mCanvas);
+            }
+        }
+    }
+
+    /**
+     * Scroll sequence where each callback is followed by drawing of frame
+     */
+    private static final class DrawScenario implements Scenario {
+
+        private final IndicatorState mState = new IndicatorState();
+        private final DotPainter mPainter;
+        private final DotCanvas mCanvas;
+        private final float[] mSequence;
+
+        DrawScenario(int dotsCount, int maxVisibleDots, DotCanvas canvas) {
+            DotLayout layout = Fixtures.createLayout(dotsCount);
+            layout.setMaxVisibleDots(maxVisibleDots);
+            mPainter = new DotPainter(layout);
+            mCanvas = canvas;
+            mSequence = Fixtures.createScrollSequence(Math.min(dotsCount, 50), 4, 1);
+        }
+
+        @Override
+        public int run() {
+            int frames = 0;
+            for (int i = 0; i < mSequence.length; i += 2) {
+                Fixtures.scroll(mState, (int) mSequence[i], mSequence[i + 1]);
+                mPainter.paint(mState, 0, Fixtures.VIEW_WIDTH, mCanvas);
+                frames++;
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cz.mroczis.nougatpagerindicator.core.DotLayout;
+import cz.mroczis.nougatpagerindicator.core.DotPainter;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+
+/**
+ * Cost of one frame of {@code onDraw} for different count of dots. Canvas is replaced by {@link RecordingDotCanvas}
+ * so only work of indicator itself is measured.
+ */
+@State(Scope.Thread)
+public class DrawBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int dotsCount;
+
+    private DotLayout mLayout;
+    private DotPainter mPainter;
+    private DotPainter mBoundedPainter;
+    private IndicatorState mState;
+    private RecordingDotCanvas mCanvas;
+
+    @Setup
+    public void setup() {
+        mLayout = Fixtures.createLayout(dotsCount);
+        mPainter = new DotPainter(mLayout);
+
+        DotLayout boundedLayout = Fixtures.createLayout(dotsCount);
+        boundedLayout.setMaxVisibleDots(Fixtures.MAX_VISIBLE_DOTS);
+        mBoundedPainter = new DotPainter(boundedLayout);
+        mState = new IndicatorState();
+        mState.setCurrentItem(dotsCount / 2);
+        mCanvas = new RecordingDotCanvas();
+    }
+
+    /**
+     * Frame clipped to the view, only visible dots are drawn
+     */
+    @Benchmark
+    public float drawVisible() {
+        mCanvas.reset();
+        mPainter.paint(mState, 0, Fixtures.VIEW_WIDTH, mCanvas);
+        return mCanvas.getChecksum();
+    }
+
+    /**
+     * Frame with bounded window of dots, it should cost the same for any count of dots
+     */
+    @Benchmark
+    public float drawBounded() {
+        mCanvas.reset();
+        mBoundedPainter.paint(mState, 0, Fixtures.VIEW_WIDTH, mCanvas);
+        return mCanvas.getChecksum();
+    }
+
+    /**
+     * Frame which is not clipped at all, this is the cost of view measured with unspecified width
+     */
+    @Benchmark
+    public float drawAll() {
+        mCanvas.reset();
+        mLayout.updateScrollOffset(mState.getCurrentItem());
+        mPainter.paintDots(mState, 0, dotsCount - 1, mCanvas);
+        mPainter.paintGlue(mState, mCanvas);
+        return mCanvas.getChecksum();
+    }
+}
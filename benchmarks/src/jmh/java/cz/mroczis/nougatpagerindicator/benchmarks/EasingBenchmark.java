@@ -0,0 +1,61 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cz.mroczis.nougatpagerindicator.core.EasingCurve;
+import cz.mroczis.nougatpagerindicator.core.EasingCurves;
+import cz.mroczis.nougatpagerindicator.core.EasingTable;
+
+/**
+ * Cost of evaluating easing curves exactly and through baked {@link EasingTable}.
+ * One operation is evaluation of all frames of one glue transition.
+ */
+@State(Scope.Thread)
+public class EasingBenchmark {
+
+    @Param({"movement", "decelerate", "accelerateDecelerate"})
+    public String curve;
+
+    private EasingCurve mExact;
+    private EasingTable mTable;
+    private float[] mInputs;
+
+    @Setup
+    public void setup() {
+        if ("movement".equals(curve)) {
+            mExact = EasingCurves.MOVEMENT_CORRECTION;
+        } else if ("decelerate".equals(curve)) {
+            mExact = EasingCurves.DECELERATE;
+        } else {
+            mExact = EasingCurves.ACCELERATE_DECELERATE;
+        }
+
+        mTable = new EasingTable(mExact);
+        mInputs = new float[Fixtures.GLUE_FRAMES];
+        for (int i = 0; i < mInputs.length; ++i) {
+            mInputs[i] = (float) (i + 1) / Fixtures.GLUE_FRAMES;
+        }
+    }
+
+    @Benchmark
+    public float exact() {
+        float sum = 0F;
+        for (float input : mInputs) {
+            sum += mExact.getValue(input);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float table() {
+        float sum = 0F;
+        for (float input : mInputs) {
+            sum += mTable.getValue(input);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,88 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import cz.mroczis.nougatpagerindicator.core.DotLayout;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+import cz.mroczis.nougatpagerindicator.core.ScrollPlayer;
+import cz.mroczis.nougatpagerindicator.core.ScrollRecording;
+
+/**
+ * Shared setup of benchmarks. Sizes correspond to default dimensions of indicator on xxhdpi device.
+ */
+
+final class Fixtures {
+
+    static final int VIEW_WIDTH = 1080;
+    static final int DOT_RADIUS = 8;
+    static final int DOT_SPACING = 12;
+
+    /**
+     * Size of bounded window of dots, {@link DotLayout#setMaxVisibleDots(int)}
+     */
+    static final int MAX_VISIBLE_DOTS = 9;
+
+    /**
+     * Count of frames of one glue transition, 175 ms at 60 fps
+     */
+    static final int GLUE_FRAMES = 11;
+
+    private Fixtures() {
+    }
+
+    static DotLayout createLayout(int dotsCount) {
+        DotLayout layout = new DotLayout();
+        layout.setDotRadius(DOT_RADIUS);
+        layout.setSpaceBetweenDots(DOT_SPACING);
+        layout.setDotsCount(dotsCount);
+        layout.setWidth(VIEW_WIDTH);
+        return layout;
+    }
+
+    /**
+     * Feeds one scroll callback into state and applies glue changes immediately as if animator finished at once
+     *
+     * @return actions returned by state
+     */
+    static int scroll(IndicatorState state, int position, float offset) {
+        return ScrollPlayer.scroll(state, position, offset);
+    }
+
+    /**
+     * Creates scroll callbacks of user who slowly swipes from first to last page and back.
+     * Positions are at even indexes, offsets at odd indexes.
+     *
+     * @param pages          count of pages
+     * @param stepsPerPage   count of callbacks for each page
+     * @param pagesPerStep   count of pages skipped by one callback, values bigger than 1 simulate fast fling
+     */
+    static float[] createScrollSequence(int pages, int stepsPerPage, int pagesPerStep) {
+        int forward = (pages - 1) * stepsPerPage / pagesPerStep;
+        float[] sequence = new float[4 * (forward + 1)];
+        int index = 0;
+
+        for (int i = 0; i <= forward; ++i) {
+            index = putScroll(sequence, index, (float) i * pagesPerStep / stepsPerPage);
+        }
+        for (int i = forward; i >= 0; --i) {
+            index = putScroll(sequence, index, (float) i * pagesPerStep / stepsPerPage);
+        }
+
+        return sequence;
+    }
+
+    private static int putScroll(float[] sequence, int index, float value) {
+        sequence[index++] = (int) value;
+        sequence[index++] = value - (int) value;
+        return index;
+    }
+
+    /**
+     * Converts sequence created by {@link #createScrollSequence(int, int, int)} into recording with callbacks 16 ms apart
+     */
+    static ScrollRecording createRecording(float[] sequence) {
+        ScrollRecording recording = new ScrollRecording(sequence.length / 2);
+        for (int i = 0; i < sequence.length; i += 2) {
+            recording.add(i * 8_000_000L, (int) sequence[i], sequence[i + 1], (int) (sequence[i + 1] * VIEW_WIDTH));
+        }
+        return recording;
+    }
+}
@@ -0,0 +1,55 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cz.mroczis.nougatpagerindicator.core.DotLayout;
+import cz.mroczis.nougatpagerindicator.core.DotPainter;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+
+/**
+ * Cost of glue transitions - connecting two neighbouring dots and disconnecting them again.
+ * One operation is the whole transition including drawing of each of its frames.
+ */
+@State(Scope.Thread)
+public class GlueBenchmark {
+
+    private static final int DOTS_COUNT = 10;
+
+    private DotPainter mPainter;
+    private IndicatorState mState;
+    private RecordingDotCanvas mCanvas;
+
+    @Setup
+    public void setup() {
+        DotLayout layout = Fixtures.createLayout(DOTS_COUNT);
+        mPainter = new DotPainter(layout);
+        mState = new IndicatorState();
+        mCanvas = new RecordingDotCanvas();
+    }
+
+    @Benchmark
+    public float connectAndDisconnect() {
+        mCanvas.reset();
+        mState.connect(4, 5);
+        mState.setCurrentItem(4);
+
+        for (int frame = 1; frame <= Fixtures.GLUE_FRAMES; ++frame) {
+            mState.setGlueRatio((float) frame / Fixtures.GLUE_FRAMES);
+            mPainter.paint(mState, 0, Fixtures.VIEW_WIDTH, mCanvas);
+        }
+
+        mState.setCurrentItem(5);
+        for (int frame = Fixtures.GLUE_FRAMES - 1; frame >= 0; --frame) {
+            mState.setGlueRatio((float) frame / Fixtures.GLUE_FRAMES);
+            mPainter.paint(mState, 0, Fixtures.VIEW_WIDTH, mCanvas);
+        }
+
+        mState.disconnect();
+        mState.onDisconnected();
+        mState.setCurrentItem(4);
+        return mCanvas.getChecksum();
+    }
+}
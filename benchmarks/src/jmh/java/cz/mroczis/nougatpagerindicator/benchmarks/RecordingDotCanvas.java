@@ -0,0 +1,51 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import cz.mroczis.nougatpagerindicator.core.DotCanvas;
+
+/**
+ * Stand-in for Android canvas. It only counts draw calls and sums coordinates,
+ * so JIT can not eliminate work done by painter.
+ */
+
+public class RecordingDotCanvas implements DotCanvas {
+
+    private int mDrawCalls;
+    private float mChecksum;
+
+    @Override
+    public void drawInactiveDot(int position, float centerX, float radius) {
+        mDrawCalls++;
+        mChecksum += centerX + radius;
+    }
+
+    @Override
+    public void drawActiveDot(float centerX, float radius) {
+        mDrawCalls++;
+        mChecksum -= centerX + radius;
+    }
+
+    @Override
+    public void drawGlue(float left, float right, float radius, float sibling, float siblingRadius, float ratio, boolean leftToRight) {
+        mDrawCalls += 2; // sibling dot + rounded rectangle
+        mChecksum += right - left + radius + sibling + siblingRadius;
+    }
+
+    /**
+     * @return count of draw calls since last {@link #reset()}
+     */
+    public int getDrawCalls() {
+        return mDrawCalls;
+    }
+
+    /**
+     * @return sum of drawn coordinates
+     */
+    public float getChecksum() {
+        return mChecksum;
+    }
+
+    public void reset() {
+        mDrawCalls = 0;
+        mChecksum = 0F;
+    }
+}
@@ -0,0 +1,81 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import cz.mroczis.nougatpagerindicator.core.DotPainter;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+import cz.mroczis.nougatpagerindicator.core.ScrollPlayer;
+import cz.mroczis.nougatpagerindicator.core.ScrollRecording;
+
+/**
+ * Cost of replaying recorded scroll callbacks including drawing of frame after each of them.
+ * One operation is the whole recording.
+ * <p>
+ * Recordings captured on device by {@code ScrollRecorder} are passed as parameter of JMH,
+ * e.g. {@code -p recording=/path/to/fling.npir}. Default value replays synthetic fling which went through binary format.
+ * </p>
+ */
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    private static final String SYNTHETIC = "synthetic";
+    private static final int DOTS_COUNT = 1000;
+
+    @Param({SYNTHETIC})
+    public String recording;
+
+    private ScrollRecording mRecording;
+    private IndicatorState mState;
+    private DotPainter mPainter;
+    private RecordingDotCanvas mCanvas;
+
+    private final ScrollPlayer.StepListener mDrawListener = new ScrollPlayer.StepListener() {
+        @Override
+        public void onStep(int index, IndicatorState state, int actions) {
+            mPainter.paint(state, 0, Fixtures.VIEW_WIDTH, mCanvas);
+        }
+    };
+
+    @Setup
+    public void setup() throws IOException {
+        mRecording = SYNTHETIC.equals(recording) ? createSynthetic() : load(recording);
+        mState = new IndicatorState();
+        mPainter = new DotPainter(Fixtures.createLayout(DOTS_COUNT));
+        mCanvas = new RecordingDotCanvas();
+    }
+
+    @Benchmark
+    public float replay() {
+        mCanvas.reset();
+        ScrollPlayer.play(mRecording, mState, mDrawListener);
+        return mCanvas.getChecksum();
+    }
+
+    private static ScrollRecording createSynthetic() throws IOException {
+        ScrollRecording recording = Fixtures.createRecording(Fixtures.createScrollSequence(100, 30, 4));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recording.write(out);
+        return ScrollRecording.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static ScrollRecording load(String path) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(path));
+        try {
+            return ScrollRecording.read(in);
+        } finally {
+            in.close();
+        }
+    }
+}
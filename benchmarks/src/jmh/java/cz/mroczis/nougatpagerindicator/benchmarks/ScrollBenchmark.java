@@ -0,0 +1,41 @@
+package cz.mroczis.nougatpagerindicator.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+
+/**
+ * Cost of processing sequence of {@code onPageScrolled} callbacks - swipe from first to last page and back.
+ * One operation is the whole sequence.
+ */
+@State(Scope.Thread)
+public class ScrollBenchmark {
+
+    /**
+     * Pages skipped by one callback, 1 is regular swipe, bigger values simulate fast fling
+     */
+    @Param({"1", "4"})
+    public int pagesPerStep;
+
+    private IndicatorState mState;
+    private float[] mSequence;
+
+    @Setup
+    public void setup() {
+        mState = new IndicatorState();
+        mSequence = Fixtures.createScrollSequence(100, 30, pagesPerStep);
+    }
+
+    @Benchmark
+    public int scroll() {
+        int actions = 0;
+        for (int i = 0; i < mSequence.length; i += 2) {
+            actions |= Fixtures.scroll(mState, (int) mSequence[i], mSequence[i + 1]);
+        }
+        return actions;
+    }
+}
@@ -0,0 +1,40 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Target of {@link DotPainter}. All dots lie on one horizontal line, so only x coordinates are passed,
+ * vertical position is known to implementation. Radius of dots is passed because dots at edges of bounded window
+ * are shrunk, see {@link DotLayout#getDotScale(int)}.
+ */
+
+public interface DotCanvas {
+
+    /**
+     * Draws dot that is not selected
+     *
+     * @param position position of dot, e.g. to look up its status
+     * @param centerX  x coordinate of dot's center
+     * @param radius   radius of dot
+     */
+    void drawInactiveDot(int position, float centerX, float radius);
+
+    /**
+     * Draws selected dot when no glue is shown
+     *
+     * @param centerX x coordinate of dot's center
+     * @param radius  radius of dot
+     */
+    void drawActiveDot(float centerX, float radius);
+
+    /**
+     * Draws glue that connects selected dot with its sibling and inactive sibling which is moving towards the glue
+     *
+     * @param left        x coordinate of left edge of glue
+     * @param right       x coordinate of right edge of glue
+     * @param radius        radius of selected dot, it is also half of glue's height
+     * @param sibling       x coordinate of center of inactive sibling
+     * @param siblingRadius radius of inactive sibling
+     * @param ratio         glue ratio, 1 means that two neighbouring dots are fully connected
+     * @param leftToRight   true if glue grows from selected dot on the left side to the right
+     */
+    void drawGlue(float left, float right, float radius, float sibling, float siblingRadius, float ratio, boolean leftToRight);
+}
@@ -0,0 +1,488 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Geometry of dots drawn by pager indicator. It does not depend on Android, all values are in pixels
+ * and all results are written into buffers owned by caller so it can be used in hot paths.
+ * <p>
+ * Coordinates are relative to left edge of view that draws dots, when all dots fit into it they are centered,
+ * otherwise visible window is scrolled so selected dot stays visible, see {@link #updateScrollOffset(int)}.
+ * </p>
+ * <p>
+ * Window can be limited to fixed count of dots by {@link #setMaxVisibleDots(int)}, dots at its edges
+ * are shrunk when there are more dots behind them, see {@link #getDotScale(int)}.
+ * </p>
+ */
+
+public class DotLayout {
+
+    /**
+     * Index of left edge of glue in buffer filled by {@link #fillGlue(IndicatorState, float[])}
+     */
+    public static final int GLUE_LEFT = 0;
+
+    /**
+     * Index of right edge of glue in buffer filled by {@link #fillGlue(IndicatorState, float[])}
+     */
+    public static final int GLUE_RIGHT = 1;
+
+    /**
+     * Index of center of inactive dot which is moving towards glue in buffer filled by {@link #fillGlue(IndicatorState, float[])}
+     */
+    public static final int GLUE_SIBLING = 2;
+
+    /**
+     * Index of radius of glue in buffer filled by {@link #fillGlue(IndicatorState, float[])}, it is radius of selected dot
+     */
+    public static final int GLUE_RADIUS = 3;
+
+    /**
+     * Index of radius of inactive dot which is moving towards glue in buffer filled by {@link #fillGlue(IndicatorState, float[])}
+     */
+    public static final int GLUE_SIBLING_RADIUS = 4;
+
+    /**
+     * Minimal size of buffer passed to {@link #fillGlue(IndicatorState, float[])}
+     */
+    public static final int GLUE_SIZE = 5;
+
+    /**
+     * Scale of the outermost dot of bounded window when there are more dots behind it
+     */
+    public static final float MIN_EDGE_SCALE = 0.4F;
+
+    /**
+     * Count of dots at each edge of bounded window which are shrunk
+     */
+    private static final int EDGE_DOTS = 2;
+
+    /**
+     * Baked {@link EasingCurves#MOVEMENT_CORRECTION}, tables are immutable so all layouts share it
+     */
+    private static final EasingTable DEFAULT_MOVEMENT_CURVE = new EasingTable(EasingCurves.MOVEMENT_CORRECTION);
+
+    /**
+     * Movement of inactive sibling towards glue
+     * {@link #setMovementCurve(EasingCurve)}
+     */
+    private EasingTable mMovementCurve = DEFAULT_MOVEMENT_CURVE;
+
+    /**
+     * Total count of dots
+     */
+    private int mDotsCount;
+
+    /**
+     * Radius of each dot
+     */
+    private int mDotRadius;
+
+    /**
+     * Space between two dots
+     */
+    private int mSpaceBetweenDots;
+
+    /**
+     * Total width of all dots
+     */
+    private int mTotalWidth;
+
+    /**
+     * Width of view that draws dots
+     */
+    private int mWidth;
+
+    /**
+     * Horizontal scroll of dots. It is non-zero only when {@link #mTotalWidth} is bigger than width of visible window
+     */
+    private int mScrollOffset;
+
+    /**
+     * Maximal count of visible dots, 0 means that window is limited only by {@link #mWidth}
+     */
+    private int mMaxVisibleDots;
+
+    /**
+     * @return total count of dots
+     */
+    public int getDotsCount() {
+        return mDotsCount;
+    }
+
+    /**
+     * @param dotsCount total count of dots
+     */
+    public void setDotsCount(int dotsCount) {
+        mDotsCount = dotsCount;
+        calculateTotalWidth();
+    }
+
+    /**
+     * @return radius of one dot
+     */
+    public int getDotRadius() {
+        return mDotRadius;
+    }
+
+    /**
+     * @param dotRadius radius of one dot
+     */
+    public void setDotRadius(int dotRadius) {
+        mDotRadius = dotRadius;
+        calculateTotalWidth();
+    }
+
+    /**
+     * @return space between two neighbouring dots
+     */
+    public int getSpaceBetweenDots() {
+        return mSpaceBetweenDots;
+    }
+
+    /**
+     * @param spaceBetweenDots space between two neighbouring dots
+     */
+    public void setSpaceBetweenDots(int spaceBetweenDots) {
+        mSpaceBetweenDots = spaceBetweenDots;
+        calculateTotalWidth();
+    }
+
+    /**
+     * @return width of view that draws dots
+     */
+    public int getWidth() {
+        return mWidth;
+    }
+
+    /**
+     * @param width width of view that draws dots
+     */
+    public void setWidth(int width) {
+        mWidth = width;
+    }
+
+    /**
+     * @return total width of all dots
+     */
+    public int getTotalWidth() {
+        return mTotalWidth;
+    }
+
+    /**
+     * @return maximal count of visible dots, 0 when it is not limited
+     */
+    public int getMaxVisibleDots() {
+        return mMaxVisibleDots;
+    }
+
+    /**
+     * Limits count of visible dots, so width of indicator does not grow with count of pages.
+     * Selected dot is kept out of shrunk dots at edges of window unless it is the first or the last one.
+     *
+     * @param maxVisibleDots maximal count of visible dots or 0 to show as many as fit into {@link #mWidth}
+     */
+    public void setMaxVisibleDots(int maxVisibleDots) {
+        if (maxVisibleDots < 0) {
+            throw new IllegalArgumentException("Max count of visible dots must not be negative");
+        }
+
+        mMaxVisibleDots = maxVisibleDots;
+    }
+
+    /**
+     * @return width which is needed to draw all dots or bounded window of them, see {@link #setMaxVisibleDots(int)}
+     */
+    public int getPreferredWidth() {
+        if (mMaxVisibleDots > 0 && mDotsCount > mMaxVisibleDots) {
+            return mMaxVisibleDots * mDotRadius * 2 + (mMaxVisibleDots - 1) * mSpaceBetweenDots;
+        } else {
+            return mTotalWidth;
+        }
+    }
+
+    /**
+     * @return true when not all dots fit into visible window, so it is scrolled
+     */
+    public boolean isScrolled() {
+        return mTotalWidth > getVisibleWidth();
+    }
+
+    /**
+     * @return width of area where dots are drawn, it is smaller than {@link #mWidth} only when window is bounded
+     */
+    private int getVisibleWidth() {
+        return mMaxVisibleDots > 0 ? Math.min(mWidth, getPreferredWidth()) : mWidth;
+    }
+
+    /**
+     * @return x coordinate of left edge of area where dots are drawn, bounded window is centered
+     */
+    private int getVisibleLeft() {
+        return isScrolled() ? (mWidth - getVisibleWidth()) / 2 : 0;
+    }
+
+    /**
+     * @return count of dots at each edge of window which are shrunk
+     */
+    private int getEdgeDots() {
+        return mMaxVisibleDots > 0 ? Math.min(EDGE_DOTS, (mMaxVisibleDots - 1) / 2) : 0;
+    }
+
+    /**
+     * @return count of dots kept between selected dot and edge of bounded window, so selected dot and its neighbours
+     * are not shrunk when window is big enough
+     */
+    private int getMarginDots() {
+        return mMaxVisibleDots > 0 ? Math.min(getEdgeDots() + 1, (mMaxVisibleDots - 1) / 2) : 0;
+    }
+
+    /**
+     * @return horizontal scroll of dots
+     */
+    public int getScrollOffset() {
+        return mScrollOffset;
+    }
+
+    /**
+     * @return distance between centers of two neighbouring dots
+     */
+    public int getDotPitch() {
+        return 2 * mDotRadius + mSpaceBetweenDots;
+    }
+
+    /**
+     * Calculates actual width of all elements that will be drawn
+     */
+    private void calculateTotalWidth() {
+        if (mDotsCount > 0) {
+            mTotalWidth = mDotsCount * mDotRadius * 2 + (mDotsCount - 1) * mSpaceBetweenDots;
+        } else {
+            mTotalWidth = 0;
+        }
+    }
+
+    /**
+     * Calculates position of any dot relatively to the first one
+     *
+     * @param position position in range from 0 (including) to {@link #mDotsCount} (excluding)
+     * @return x offset of dot's center from the first dot's center
+     */
+    public int getDotOffset(int position) {
+        return position * 2 * mDotRadius + position * mSpaceBetweenDots;
+    }
+
+    /**
+     * Calculates x coordinate of center of the first dot. When all dots fit into view
+     * they are centered, otherwise they are moved by {@link #mScrollOffset}
+     *
+     * @return x coordinate of the first dot's center
+     */
+    public int getStartPosition() {
+        if (!isScrolled()) {
+            return (mWidth - mTotalWidth) / 2 + mDotRadius;
+        } else {
+            return getVisibleLeft() + mDotRadius - mScrollOffset;
+        }
+    }
+
+    /**
+     * Moves visible window of dots so selected dot is visible, see {@link #updateScrollOffset(float)}
+     *
+     * @param currentItem position of selected dot
+     * @return true when window moved
+     */
+    public boolean updateScrollOffset(int currentItem) {
+        return updateScrollOffset((float) currentItem);
+    }
+
+    /**
+     * Moves visible window of dots so dot at given position is visible.
+     * Window is moved only when it is necessary, so it does not jump while user scrolls among visible dots.
+     * Position might be fractional while pager scrolls, window then slides together with it.
+     * Bounded window also keeps selected dot and its neighbours out of its shrunk edges.
+     *
+     * @param position position of selected dot, e.g. {@link IndicatorState#getScrollPosition()}
+     * @return true when window moved
+     */
+    public boolean updateScrollOffset(float position) {
+        int visibleWidth = getVisibleWidth();
+        int scrollOffset = mScrollOffset;
+
+        if (mTotalWidth <= visibleWidth) {
+            scrollOffset = 0;
+        } else {
+            int pitch = getDotPitch();
+            int margin = getMarginDots() * pitch;
+            float itemStart = position * pitch - margin;
+            float itemEnd = position * pitch + 2 * mDotRadius + margin;
+
+            if (itemStart < scrollOffset) {
+                scrollOffset = (int) Math.floor(itemStart);
+            } else if (itemEnd > scrollOffset + visibleWidth) {
+                scrollOffset = (int) Math.ceil(itemEnd - visibleWidth);
+            }
+
+            scrollOffset = Math.max(0, Math.min(scrollOffset, mTotalWidth - visibleWidth));
+        }
+
+        boolean moved = mScrollOffset != scrollOffset;
+        mScrollOffset = scrollOffset;
+        return moved;
+    }
+
+    /**
+     * Calculates scale of dot's radius. Dots are shrunk only at edges of bounded window
+     * when there are more dots behind the edge, the outermost one is scaled by {@link #MIN_EDGE_SCALE}.
+     *
+     * @param position position of dot
+     * @return scale in range from {@link #MIN_EDGE_SCALE} to 1
+     */
+    public float getDotScale(int position) {
+        int edgeDots = getEdgeDots();
+        if (edgeDots == 0 || !isScrolled()) {
+            return 1F;
+        }
+
+        int visibleLeft = getVisibleLeft();
+        int visibleWidth = getVisibleWidth();
+        int dotStart = getStartPosition() + getDotOffset(position) - mDotRadius;
+        float edge = edgeDots * getDotPitch();
+        float scale = 1F;
+
+        if (mScrollOffset > 0) {
+            scale = Math.min(scale, getEdgeScale((dotStart - visibleLeft) / edge));
+        }
+
+        if (mScrollOffset < mTotalWidth - visibleWidth) {
+            scale = Math.min(scale, getEdgeScale((visibleLeft + visibleWidth - dotStart - 2 * mDotRadius) / edge));
+        }
+
+        return scale;
+    }
+
+    /**
+     * @param distance distance of dot from edge of window relative to width of shrunk area
+     * @return scale of dot
+     */
+    private static float getEdgeScale(float distance) {
+        return MIN_EDGE_SCALE + (1F - MIN_EDGE_SCALE) * Math.max(0F, Math.min(distance, 1F));
+    }
+
+    /**
+     * Finds first dot which is at least partially visible when area left to given coordinate is not drawn
+     *
+     * @param left x coordinate of left edge of visible area
+     * @return position of first visible dot, it might be bigger than position of last dot when no dot is visible
+     */
+    public int getFirstVisible(int left) {
+        int pitch = getDotPitch();
+        if (pitch <= 0) {
+            return 0;
+        }
+
+        if (isScrolled()) {
+            left = Math.max(left, getVisibleLeft());
+        }
+
+        // Dot is visible only when its right edge is right to the coordinate, dot which touches left edge
+        // of bounded window would be drawn outside of it
+        int distance = left - getStartPosition() - mDotRadius;
+        return distance >= 0 ? distance / pitch + 1 : 0;
+    }
+
+    /**
+     * Finds last dot which is at least partially visible when area right to given coordinate is not drawn
+     *
+     * @param right x coordinate of right edge of visible area
+     * @return position of last visible dot, it is -1 when there are no dots
+     */
+    public int getLastVisible(int right) {
+        int pitch = getDotPitch();
+        if (pitch <= 0) {
+            return mDotsCount - 1;
+        }
+
+        if (isScrolled()) {
+            right = Math.min(right, getVisibleLeft() + getVisibleWidth());
+        }
+
+        // Dot is visible only when its left edge is left to the coordinate
+        int distance = right - getStartPosition() + mDotRadius;
+        return Math.min(mDotsCount - 1, distance > 0 ? (distance - 1) / pitch : -1);
+    }
+
+    /**
+     * Writes x coordinates of centers of dots in range from first to last (both including) into given buffer
+     *
+     * @param first  position of first dot
+     * @param last   position of last dot
+     * @param out    buffer owned by caller, it must have at least {@code last - first + 1} free items after outOffset
+     * @param offset index of buffer where first coordinate is written
+     * @return count of written coordinates
+     */
+    public int fillDotCenters(int first, int last, float[] out, int offset) {
+        int startPosition = getStartPosition();
+        int count = 0;
+
+        for (int i = first; i <= last; ++i) {
+            out[offset + count++] = startPosition + getDotOffset(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Sets curve which determines position of sibling dot while animating, it is baked into {@link EasingTable}.
+     * Value 0 means that sibling stays in place, 1 that it moved by radius of dot towards the glue.
+     *
+     * @param curve custom curve or null to use {@link EasingCurves#MOVEMENT_CORRECTION}
+     */
+    public void setMovementCurve(EasingCurve curve) {
+        mMovementCurve = curve != null ? EasingTable.bake(curve) : DEFAULT_MOVEMENT_CURVE;
+    }
+
+    /**
+     * Calculates horizontal bounds of glue connecting two dots and position of inactive dot that moves
+     * towards the glue. Values are written to indexes {@link #GLUE_LEFT}, {@link #GLUE_RIGHT} and {@link #GLUE_SIBLING},
+     * radii scaled by {@link #getDotScale(int)} to {@link #GLUE_RADIUS} and {@link #GLUE_SIBLING_RADIUS}
+     *
+     * @param state state of indicator, its glue ratio should be bigger than zero
+     * @param out   buffer owned by caller, at least {@link #GLUE_SIZE} items long
+     */
+    public void fillGlue(IndicatorState state, float[] out) {
+        int startPosition = getStartPosition();
+        int offsetStart = getDotOffset(state.getGluedDotLeft());
+        int offsetEnd = getDotOffset(state.getGluedDotRight());
+
+        float glueRatio = state.getGlueRatio();
+        float movementCorrection = mMovementCurve.getValue(getDecimalPart(glueRatio)) * mDotRadius;
+        float rectWidth = glueRatio * (mSpaceBetweenDots + 2 * mDotRadius); // total space between centers of both points
+        float radius = mDotRadius * getDotScale(state.getCurrentItem());
+
+        if (state.getCurrentItem() == state.getGluedDotLeft()) {
+            // scrolling from left to right
+            out[GLUE_LEFT] = startPosition + offsetStart - radius;
+            out[GLUE_RIGHT] = startPosition + offsetStart + rectWidth + radius;
+            out[GLUE_SIBLING] = (int) (startPosition + offsetEnd - movementCorrection);
+            out[GLUE_SIBLING_RADIUS] = mDotRadius * getDotScale(state.getGluedDotRight());
+        } else {
+            // scrolling from right to left
+            out[GLUE_LEFT] = startPosition + offsetEnd - rectWidth - radius;
+            out[GLUE_RIGHT] = startPosition + offsetEnd + radius;
+            out[GLUE_SIBLING] = (int) (startPosition + offsetStart + movementCorrection);
+            out[GLUE_SIBLING_RADIUS] = mDotRadius * getDotScale(state.getGluedDotLeft());
+        }
+
+        out[GLUE_RADIUS] = radius;
+    }
+
+    /**
+     * Returns decimal part of number
+     * Example: input 3.1231523, output 0.1231523
+     *
+     * @param val some float number
+     * @return just decimal part of given number
+     */
+    private static float getDecimalPart(float val) {
+        return val - (int) val;
+    }
+}
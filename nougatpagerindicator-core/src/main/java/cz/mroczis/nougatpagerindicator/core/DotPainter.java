@@ -0,0 +1,76 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Walks dots described by {@link DotLayout} and {@link IndicatorState} and issues draw calls into {@link DotCanvas}.
+ * This is everything that is done in one frame except of the drawing itself, painter does not allocate.
+ */
+
+public class DotPainter {
+
+    private final DotLayout mLayout;
+
+    /**
+     * Reusable buffer for horizontal geometry of glue
+     */
+    private final float[] mGlueGeometry = new float[DotLayout.GLUE_SIZE];
+
+    public DotPainter(DotLayout layout) {
+        mLayout = layout;
+    }
+
+    /**
+     * Draws one frame - all dots which are visible between left and right and glue
+     *
+     * @param state  state of indicator
+     * @param left   x coordinate of left edge of visible area
+     * @param right  x coordinate of right edge of visible area
+     * @param canvas target
+     */
+    public void paint(IndicatorState state, int left, int right, DotCanvas canvas) {
+        mLayout.updateScrollOffset(state.getScrollPosition());
+        paintDots(state, mLayout.getFirstVisible(left), mLayout.getLastVisible(right), canvas);
+        paintGlue(state, canvas);
+    }
+
+    /**
+     * Draws dots that are not glued in range from first to last (both including)
+     *
+     * @param state  state of indicator
+     * @param first  position of first drawn dot
+     * @param last   position of last drawn dot
+     * @param canvas target
+     */
+    public void paintDots(IndicatorState state, int first, int last, DotCanvas canvas) {
+        int startPosition = mLayout.getStartPosition();
+        int dotRadius = mLayout.getDotRadius();
+        int currentItem = state.getCurrentItem();
+        int gluedDotLeft = state.getGluedDotLeft();
+        int gluedDotRight = state.getGluedDotRight();
+        boolean glued = state.getGlueRatio() != 0;
+
+        for (int i = first; i <= last; ++i) {
+            if (!glued || (i != gluedDotLeft && i != gluedDotRight)) { // drawing only dots that are not being animated now
+                if (i == currentItem && !glued) {
+                    canvas.drawActiveDot(startPosition + mLayout.getDotOffset(i), dotRadius * mLayout.getDotScale(i));
+                } else if (i != currentItem) {
+                    canvas.drawInactiveDot(i, startPosition + mLayout.getDotOffset(i), dotRadius * mLayout.getDotScale(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws glue when it is shown
+     *
+     * @param state  state of indicator
+     * @param canvas target
+     */
+    public void paintGlue(IndicatorState state, DotCanvas canvas) {
+        if (state.getGlueRatio() > 0F) {
+            mLayout.fillGlue(state, mGlueGeometry);
+            canvas.drawGlue(mGlueGeometry[DotLayout.GLUE_LEFT], mGlueGeometry[DotLayout.GLUE_RIGHT], mGlueGeometry[DotLayout.GLUE_RADIUS],
+                    mGlueGeometry[DotLayout.GLUE_SIBLING], mGlueGeometry[DotLayout.GLUE_SIBLING_RADIUS],
+                    state.getGlueRatio(), state.getCurrentItem() == state.getGluedDotLeft());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import java.util.Arrays;
+
+/**
+ * Status of each dot stored as one byte per dot, e.g. read, downloaded or failed page. Status 0 means
+ * that dot has no status. Array grows only up to the last dot which has status, so 100 000 dots take at most 100 kB.
+ * <p>
+ * Each modification remembers range of dots whose status really changed, see {@link #getChangedFirst()}
+ * and {@link #getChangedLast()}, so only those dots need to be redrawn.
+ * </p>
+ */
+
+public class DotStatusStore {
+
+    /**
+     * Highest supported status
+     */
+    public static final int MAX_STATUS = Byte.MAX_VALUE;
+
+    private byte[] mStatuses = new byte[0];
+
+    /**
+     * Count of dots whose status is not 0
+     */
+    private int mStatusCount;
+
+    /**
+     * Incremented on each change, so cached drawings know they are stale
+     */
+    private int mModificationCount;
+
+    /**
+     * Range of dots changed by last modification, first is bigger than last when nothing changed
+     */
+    private int mChangedFirst;
+    private int mChangedLast = -1;
+
+    /**
+     * @param position position of dot
+     * @return status of dot, 0 when it has none
+     */
+    public int get(int position) {
+        return position >= 0 && position < mStatuses.length ? mStatuses[position] : 0;
+    }
+
+    /**
+     * @return true if no dot has status
+     */
+    public boolean isEmpty() {
+        return mStatusCount == 0;
+    }
+
+    public int getModificationCount() {
+        return mModificationCount;
+    }
+
+    /**
+     * @return first dot changed by last modification
+     */
+    public int getChangedFirst() {
+        return mChangedFirst;
+    }
+
+    /**
+     * @return last dot changed by last modification, it is lower than {@link #getChangedFirst()} when nothing changed
+     */
+    public int getChangedLast() {
+        return mChangedLast;
+    }
+
+    /**
+     * Sets status of dots in range from first to last (both including)
+     *
+     * @param first  position of first dot
+     * @param last   position of last dot
+     * @param status status in range from 0 to {@link #MAX_STATUS}, 0 removes status
+     * @return true if status of any dot changed
+     */
+    public boolean set(int first, int last, int status) {
+        if (status < 0 || status > MAX_STATUS) {
+            throw new IllegalArgumentException("Status must be in range from 0 to " + MAX_STATUS + ", provided argument is " + status);
+        } else if (first < 0 || last < first) {
+            throw new IllegalArgumentException("Invalid range of dots [" + first + ", " + last + "]");
+        }
+
+        resetChanged();
+
+        if (status == 0) {
+            last = Math.min(last, mStatuses.length - 1);
+        } else if (last >= mStatuses.length) {
+            mStatuses = Arrays.copyOf(mStatuses, Math.max(last + 1, 2 * mStatuses.length));
+        }
+
+        for (int i = first; i <= last; ++i) {
+            int old = mStatuses[i];
+            if (old != status) {
+                mStatuses[i] = (byte) status;
+                mStatusCount += (old == 0 ? 1 : 0) - (status == 0 ? 1 : 0);
+                markChanged(i);
+            }
+        }
+
+        return onModified();
+    }
+
+    /**
+     * Removes status of all dots
+     *
+     * @return true if any dot had status
+     */
+    public boolean clear() {
+        resetChanged();
+
+        if (mStatusCount > 0) {
+            for (int i = 0; i < mStatuses.length; ++i) {
+                if (mStatuses[i] != 0) {
+                    mStatuses[i] = 0;
+                    markChanged(i);
+                }
+            }
+            mStatusCount = 0;
+        }
+
+        return onModified();
+    }
+
+    /**
+     * Removes status of dots which no longer exist
+     *
+     * @param count count of existing dots
+     */
+    public void truncate(int count) {
+        if (count < mStatuses.length) {
+            set(Math.max(0, count), Math.max(0, mStatuses.length - 1), 0);
+        }
+    }
+
+    /**
+     * Moves statuses after items were inserted, inserted dots have no status
+     *
+     * @param positionStart position of first inserted dot
+     * @param itemCount     count of inserted dots
+     */
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        resetChanged();
+
+        if (itemCount > 0 && mStatusCount > 0 && positionStart < mStatuses.length) {
+            int oldLength = mStatuses.length;
+            mStatuses = Arrays.copyOf(mStatuses, oldLength + itemCount);
+            System.arraycopy(mStatuses, positionStart, mStatuses, positionStart + itemCount, oldLength - positionStart);
+            Arrays.fill(mStatuses, positionStart, positionStart + itemCount, (byte) 0);
+            markChanged(positionStart);
+            markChanged(mStatuses.length - 1);
+        }
+
+        onModified();
+    }
+
+    /**
+     * Moves statuses after items were removed, statuses of removed dots are dropped
+     *
+     * @param positionStart position of first removed dot
+     * @param itemCount     count of removed dots
+     */
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        resetChanged();
+
+        if (itemCount > 0 && mStatusCount > 0 && positionStart < mStatuses.length) {
+            int end = Math.min(mStatuses.length, positionStart + itemCount);
+            for (int i = positionStart; i < end; ++i) {
+                if (mStatuses[i] != 0) {
+                    mStatusCount--;
+                }
+            }
+
+            System.arraycopy(mStatuses, end, mStatuses, positionStart, mStatuses.length - end);
+            Arrays.fill(mStatuses, mStatuses.length - (end - positionStart), mStatuses.length, (byte) 0);
+            markChanged(positionStart);
+            markChanged(mStatuses.length - 1);
+        }
+
+        onModified();
+    }
+
+    /**
+     * Moves statuses after items were moved, so each status stays with its item
+     *
+     * @param fromPosition position of first moved dot before move
+     * @param toPosition   position of first moved dot after move
+     * @param itemCount    count of moved dots
+     */
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        resetChanged();
+
+        int start = Math.min(fromPosition, toPosition);
+        int end = Math.max(fromPosition, toPosition) + itemCount;
+
+        if (itemCount > 0 && fromPosition != toPosition && mStatusCount > 0 && start < mStatuses.length) {
+            if (end > mStatuses.length) {
+                mStatuses = Arrays.copyOf(mStatuses, end);
+            }
+
+            byte[] moved = Arrays.copyOfRange(mStatuses, fromPosition, fromPosition + itemCount);
+            if (fromPosition < toPosition) {
+                System.arraycopy(mStatuses, fromPosition + itemCount, mStatuses, fromPosition, toPosition - fromPosition);
+            } else {
+                System.arraycopy(mStatuses, toPosition, mStatuses, toPosition + itemCount, fromPosition - toPosition);
+            }
+            System.arraycopy(moved, 0, mStatuses, toPosition, itemCount);
+
+            markChanged(start);
+            markChanged(end - 1);
+        }
+
+        onModified();
+    }
+
+    private void resetChanged() {
+        mChangedFirst = Integer.MAX_VALUE;
+        mChangedLast = -1;
+    }
+
+    private void markChanged(int position) {
+        mChangedFirst = Math.min(mChangedFirst, position);
+        mChangedLast = Math.max(mChangedLast, position);
+    }
+
+    private boolean onModified() {
+        boolean changed = mChangedLast >= mChangedFirst;
+        if (changed) {
+            mModificationCount++;
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,15 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Maps progress of animation to its eased value. Curves are evaluated while tables are baked,
+ * see {@link EasingTable}, so they may be arbitrarily expensive.
+ */
+
+public interface EasingCurve {
+
+    /**
+     * @param input progress in range from 0 to 1
+     * @return eased value, usually 0 for input 0 and 1 for input 1
+     */
+    float getValue(float input);
+}
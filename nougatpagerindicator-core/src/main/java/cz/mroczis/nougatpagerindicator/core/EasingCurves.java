@@ -0,0 +1,41 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Curves used by pager indicator. They are exact, bake them into {@link EasingTable} before using them in frames.
+ */
+
+public final class EasingCurves {
+
+    /**
+     * Movement of inactive sibling towards glue. It stays almost still and moves quickly at the end
+     */
+    public static final EasingCurve MOVEMENT_CORRECTION = new EasingCurve() {
+        @Override
+        public float getValue(float input) {
+            return (float) Math.min(1, Math.pow(input, 2) + 0.075F);
+        }
+    };
+
+    /**
+     * Equals to {@code DecelerateInterpolator} with default factor
+     */
+    public static final EasingCurve DECELERATE = new EasingCurve() {
+        @Override
+        public float getValue(float input) {
+            return 1F - (1F - input) * (1F - input);
+        }
+    };
+
+    /**
+     * Equals to {@code AccelerateDecelerateInterpolator}
+     */
+    public static final EasingCurve ACCELERATE_DECELERATE = new EasingCurve() {
+        @Override
+        public float getValue(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0F) + 0.5F;
+        }
+    };
+
+    private EasingCurves() {
+    }
+}
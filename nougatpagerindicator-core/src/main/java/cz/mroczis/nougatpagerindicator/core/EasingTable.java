@@ -0,0 +1,75 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * {@link EasingCurve} baked into fixed-size table of samples. Values between samples are linearly interpolated,
+ * so evaluation costs one lookup no matter how expensive the original curve is. Table is immutable.
+ */
+
+public final class EasingTable implements EasingCurve {
+
+    /**
+     * Default count of segments, error of linear interpolation of smooth curves is far below one pixel
+     */
+    public static final int DEFAULT_SIZE = 256;
+
+    /**
+     * Samples of curve, the first one is at input 0 and the last one at input 1
+     */
+    private final float[] mValues;
+
+    /**
+     * Count of segments between samples
+     */
+    private final int mSize;
+
+    public EasingTable(EasingCurve curve) {
+        this(curve, DEFAULT_SIZE);
+    }
+
+    /**
+     * Evaluates curve at size + 1 equidistant points
+     *
+     * @param curve curve to bake
+     * @param size  count of segments
+     */
+    public EasingTable(EasingCurve curve, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size of table must be positive, provided argument is " + size);
+        }
+
+        mSize = size;
+        mValues = new float[size + 1];
+
+        for (int i = 0; i <= size; ++i) {
+            mValues[i] = curve.getValue((float) i / size);
+        }
+    }
+
+    /**
+     * Returns given curve when it is already baked, otherwise bakes it into table of default size
+     *
+     * @param curve curve to bake
+     * @return baked curve
+     */
+    public static EasingTable bake(EasingCurve curve) {
+        return curve instanceof EasingTable ? (EasingTable) curve : new EasingTable(curve);
+    }
+
+    /**
+     * @param input progress, values out of range from 0 to 1 are clamped
+     * @return linearly interpolated value of curve
+     */
+    @Override
+    public float getValue(float input) {
+        if (input <= 0F) {
+            return mValues[0];
+        } else if (input >= 1F) {
+            return mValues[mSize];
+        }
+
+        float position = input * mSize;
+        int index = (int) position;
+        float start = mValues[index];
+        return start + (mValues[index + 1] - start) * (position - index);
+    }
+}
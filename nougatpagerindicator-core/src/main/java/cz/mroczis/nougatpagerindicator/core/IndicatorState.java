@@ -0,0 +1,405 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * State of pager indicator - selected dot and glue which connects it to its sibling while user scrolls.
+ * It does not depend on Android, so scroll callbacks can be replayed and profiled on plain JVM.
+ * <p>
+ * {@link #onPageScrolled(int, float)} returns flags which tell renderer what it should do,
+ * animating of {@link #getGlueRatio()} is left on renderer.
+ * </p>
+ */
+
+public class IndicatorState {
+
+    /**
+     * Nothing has to be done
+     */
+    public static final int ACTION_NONE = 0;
+
+    /**
+     * Glued dots were set, renderer should animate glue ratio towards their distance
+     */
+    public static final int ACTION_CONNECT = 1;
+
+    /**
+     * Renderer should animate glue ratio back to zero
+     */
+    public static final int ACTION_DISCONNECT = 1 << 1;
+
+    /**
+     * State changed and renderer should redraw
+     */
+    public static final int ACTION_INVALIDATE = 1 << 2;
+
+    /**
+     * User scrolled so fast that glued dots were moved immediately, it is always combined with {@link #ACTION_INVALIDATE}
+     */
+    public static final int ACTION_CATCH_UP = 1 << 3;
+
+    /**
+     * Position of currently selected dot
+     */
+    private int mCurrentItem;
+
+    /**
+     * Ratio in range of 0 to x. Where x - 1 indicated count of dots that are being overdrawn by rectangle.
+     * For example when this is 1, then two neighbouring dots are connected
+     */
+    private float mGlueRatio = 0F;
+
+    /**
+     * Position of dot that is on the left side of rectangle that glues 2 dots
+     */
+    private int mGluedDotLeft = 0;
+
+    /**
+     * Position of dot that is on the right side of rectangle that glues 2 dots
+     */
+    private int mGluedDotRight = 0;
+
+    /**
+     * Internal state of pager.
+     * {@link PagerState#SCROLLING} - glue follows scrolling pager
+     * {@link PagerState#DISCONNECTING} - glue is being hidden
+     * {@link PagerState#JUMPING} - selected dot is animated to {@link #mJumpTarget}
+     * {@link PagerState#STILL} - nothing is being animated now
+     */
+    private PagerState mPagerState = PagerState.STILL;
+
+    /**
+     * Last value of scroll - it is sum of page + offset
+     */
+    private float mLastScrollValue;
+
+    /**
+     * Position of dot that will be selected when {@link PagerState#JUMPING} ends
+     */
+    private int mJumpTarget;
+
+    /**
+     * Count of dots glue moved by during last call of {@link #onPageScrolled(int, float)}
+     */
+    private int mCatchUpSteps;
+
+    /**
+     * Processes one scroll callback of pager. Glue is moved to reported position in one step
+     * no matter how many pages were skipped since previous callback.
+     *
+     * @param position position of page which is on the left side of screen
+     * @param offset   offset of that page in range from 0 (including) to 1 (excluding)
+     * @return flags {@link #ACTION_CONNECT}, {@link #ACTION_DISCONNECT}, {@link #ACTION_INVALIDATE}, {@link #ACTION_CATCH_UP} or {@link #ACTION_NONE}
+     */
+    public int onPageScrolled(int position, float offset) {
+        int actions = ACTION_NONE;
+        mCatchUpSteps = 0;
+        mLastScrollValue = position + offset;
+
+        if (offset == 0F) {
+            // Pager reached a page
+            switch (mPagerState) {
+                case SCROLLING:
+                case JUMPING:
+                    // glue rectangle is shown and offset is now zero --> hide it
+                    actions |= moveGlueTo(position);
+                    mCurrentItem = position;
+                    mPagerState = PagerState.DISCONNECTING;
+                    actions |= ACTION_DISCONNECT;
+                    break;
+                case DISCONNECTING:
+                case STILL:
+                default:
+                    if (mCurrentItem != position) {
+                        mCurrentItem = position;
+                        actions |= ACTION_INVALIDATE;
+                    }
+                    break;
+            }
+        } else {
+            // Pager is between position and position + 1
+            switch (mPagerState) {
+                case SCROLLING:
+                    // When user scrolls very quickly it is not possible perform animations in that short period of time
+                    // Instead rectangle gluing two dots is moved immediately
+                    // This block is executed when page has changed during scroll but offset with "0F" was not called
+                    if (mGluedDotLeft != position) {
+                        int delta = position - mGluedDotLeft;
+                        mGluedDotLeft += delta;
+                        mGluedDotRight += delta;
+                        mCurrentItem += delta;
+                        mCatchUpSteps = Math.abs(delta);
+                        actions |= ACTION_INVALIDATE | ACTION_CATCH_UP;
+                    }
+                    break;
+                case STILL:
+                case DISCONNECTING:
+                case JUMPING:
+                default:
+                    // not animating or glue rectangle is not shown or pager interrupted jump --> glue pages of pager
+                    if (mCurrentItem < position || mCurrentItem > position + 1) {
+                        mCatchUpSteps = mCurrentItem < position ? position - mCurrentItem : mCurrentItem - position - 1;
+                        mCurrentItem = mCurrentItem < position ? position : position + 1;
+                        actions |= ACTION_INVALIDATE | ACTION_CATCH_UP;
+                    }
+
+                    connect(position, position + 1);
+                    actions |= ACTION_CONNECT;
+                    break;
+            }
+        }
+
+        return actions;
+    }
+
+    /**
+     * Moves glue with selected dot so given position is one of glued dots. Distance of glued dots is not changed.
+     *
+     * @param position position which should be glued
+     * @return {@link #ACTION_INVALIDATE} and {@link #ACTION_CATCH_UP} when glue was moved, {@link #ACTION_NONE} otherwise
+     */
+    private int moveGlueTo(int position) {
+        int delta;
+
+        if (position < mGluedDotLeft) {
+            delta = position - mGluedDotLeft;
+        } else if (position > mGluedDotRight) {
+            delta = position - mGluedDotRight;
+        } else {
+            return ACTION_NONE;
+        }
+
+        mGluedDotLeft += delta;
+        mGluedDotRight += delta;
+        mCurrentItem += delta;
+        mCatchUpSteps = Math.abs(delta);
+        return ACTION_INVALIDATE | ACTION_CATCH_UP;
+    }
+
+    /**
+     * Marks two dots as glued, glue ratio is not changed
+     *
+     * @param position        position of any dot
+     * @param siblingPosition position of any dot
+     */
+    public void connect(int position, int siblingPosition) {
+        mPagerState = PagerState.SCROLLING;
+        mGluedDotLeft = Math.min(position, siblingPosition);
+        mGluedDotRight = Math.max(position, siblingPosition);
+    }
+
+    /**
+     * Starts jump of selected dot to another one. When another jump is in progress, its target is selected
+     * immediately and new jump starts from there.
+     *
+     * @param currentPosition position of selected dot
+     * @param targetPosition  position of dot which will be selected when jump ends
+     * @return position from which jump starts
+     */
+    public int jump(int currentPosition, int targetPosition) {
+        if (mPagerState == PagerState.JUMPING) {
+            currentPosition = mJumpTarget;
+            mCurrentItem = mJumpTarget;
+        }
+
+        connect(currentPosition, targetPosition);
+        mPagerState = PagerState.JUMPING;
+        mJumpTarget = targetPosition;
+        return currentPosition;
+    }
+
+    /**
+     * Finishes jump, its target becomes selected dot and glue should be disconnected
+     *
+     * @return true if jump was in progress
+     */
+    public boolean onJumpEnd() {
+        if (mPagerState == PagerState.JUMPING) {
+            mCurrentItem = mJumpTarget;
+            mPagerState = PagerState.DISCONNECTING;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Starts disconnecting of glued dots
+     */
+    public void disconnect() {
+        mPagerState = PagerState.DISCONNECTING;
+    }
+
+    /**
+     * Finishes disconnecting of glued dots, nothing is animated afterwards
+     */
+    public void onDisconnected() {
+        if (mPagerState == PagerState.DISCONNECTING) {
+            mPagerState = PagerState.STILL;
+        }
+    }
+
+    /**
+     * Finishes any transition immediately - target of jump becomes selected and glue disappears.
+     * Used when animations can not continue, e.g. when indicator is detached.
+     */
+    public void settle() {
+        if (mPagerState == PagerState.JUMPING) {
+            mCurrentItem = mJumpTarget;
+        }
+
+        mPagerState = PagerState.STILL;
+        mGlueRatio = 0F;
+        mLastScrollValue = mCurrentItem;
+    }
+
+    /**
+     * Moves all positions after items were inserted, so the same page stays selected
+     *
+     * @param positionStart position of first inserted item
+     * @param itemCount     count of inserted items
+     */
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        int oldCurrentItem = mCurrentItem;
+
+        mCurrentItem = shiftInserted(mCurrentItem, positionStart, itemCount);
+        mGluedDotLeft = shiftInserted(mGluedDotLeft, positionStart, itemCount);
+        mGluedDotRight = shiftInserted(mGluedDotRight, positionStart, itemCount);
+        mJumpTarget = shiftInserted(mJumpTarget, positionStart, itemCount);
+        mLastScrollValue += mCurrentItem - oldCurrentItem;
+    }
+
+    /**
+     * Moves all positions after items were removed, so the same page stays selected when it was not removed
+     *
+     * @param positionStart position of first removed item
+     * @param itemCount     count of removed items
+     * @param dotsCount     count of dots after removal
+     */
+    public void onItemRangeRemoved(int positionStart, int itemCount, int dotsCount) {
+        int oldCurrentItem = mCurrentItem;
+        int lastPosition = Math.max(0, dotsCount - 1);
+
+        mCurrentItem = Math.min(lastPosition, shiftRemoved(mCurrentItem, positionStart, itemCount));
+        mGluedDotLeft = Math.min(lastPosition, shiftRemoved(mGluedDotLeft, positionStart, itemCount));
+        mGluedDotRight = Math.min(lastPosition, shiftRemoved(mGluedDotRight, positionStart, itemCount));
+        mJumpTarget = Math.min(lastPosition, shiftRemoved(mJumpTarget, positionStart, itemCount));
+        mLastScrollValue += mCurrentItem - oldCurrentItem;
+    }
+
+    /**
+     * Moves all positions after items were moved, so selected page stays selected even when it was moved itself
+     *
+     * @param fromPosition position of first moved item before move
+     * @param toPosition   position of first moved item after move
+     * @param itemCount    count of moved items
+     */
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        int oldCurrentItem = mCurrentItem;
+        int gluedDotLeft = shiftMoved(mGluedDotLeft, fromPosition, toPosition, itemCount);
+        int gluedDotRight = shiftMoved(mGluedDotRight, fromPosition, toPosition, itemCount);
+
+        mCurrentItem = shiftMoved(mCurrentItem, fromPosition, toPosition, itemCount);
+        mGluedDotLeft = Math.min(gluedDotLeft, gluedDotRight);
+        mGluedDotRight = Math.max(gluedDotLeft, gluedDotRight);
+        mJumpTarget = shiftMoved(mJumpTarget, fromPosition, toPosition, itemCount);
+        mLastScrollValue += mCurrentItem - oldCurrentItem;
+    }
+
+    private static int shiftMoved(int position, int fromPosition, int toPosition, int itemCount) {
+        if (position >= fromPosition && position < fromPosition + itemCount) {
+            return position - fromPosition + toPosition;
+        } else {
+            return shiftInserted(shiftRemoved(position, fromPosition, itemCount), toPosition, itemCount);
+        }
+    }
+
+    private static int shiftInserted(int position, int positionStart, int itemCount) {
+        return position >= positionStart ? position + itemCount : position;
+    }
+
+    private static int shiftRemoved(int position, int positionStart, int itemCount) {
+        if (position >= positionStart + itemCount) {
+            return position - itemCount;
+        } else if (position >= positionStart) {
+            return positionStart;
+        } else {
+            return position;
+        }
+    }
+
+    /**
+     * @return glue ratio from which disconnecting of glued dots should start
+     */
+    public float getDisconnectRatio() {
+        return (int) Math.max(Math.abs(mGluedDotLeft - mGluedDotRight), mGlueRatio);
+    }
+
+    /**
+     * @return distance between glued dots, it's also glue ratio at which they are fully connected
+     */
+    public int getGlueDistance() {
+        return mGluedDotRight - mGluedDotLeft;
+    }
+
+    public int getCurrentItem() {
+        return mCurrentItem;
+    }
+
+    public void setCurrentItem(int currentItem) {
+        mCurrentItem = currentItem;
+    }
+
+    public float getGlueRatio() {
+        return mGlueRatio;
+    }
+
+    public void setGlueRatio(float glueRatio) {
+        mGlueRatio = glueRatio;
+    }
+
+    public int getGluedDotLeft() {
+        return mGluedDotLeft;
+    }
+
+    public int getGluedDotRight() {
+        return mGluedDotRight;
+    }
+
+    public PagerState getPagerState() {
+        return mPagerState;
+    }
+
+    public int getJumpTarget() {
+        return mJumpTarget;
+    }
+
+    /**
+     * @return count of dots glue moved by during last call of {@link #onPageScrolled(int, float)}
+     */
+    public int getCatchUpSteps() {
+        return mCatchUpSteps;
+    }
+
+    public float getLastScrollValue() {
+        return mLastScrollValue;
+    }
+
+    /**
+     * Position which visible window of dots follows. It is fractional while pager scrolls or dot jumps,
+     * so window slides smoothly instead of snapping when selected dot changes.
+     *
+     * @return position of selected dot including progress of scroll or jump
+     */
+    public float getScrollPosition() {
+        switch (mPagerState) {
+            case SCROLLING:
+                return mLastScrollValue;
+            case JUMPING:
+                float progress = Math.min(mGlueRatio, Math.abs(mJumpTarget - mCurrentItem));
+                return mJumpTarget > mCurrentItem ? mCurrentItem + progress : mCurrentItem - progress;
+            case DISCONNECTING:
+            case STILL:
+            default:
+                return mCurrentItem;
+        }
+    }
+}
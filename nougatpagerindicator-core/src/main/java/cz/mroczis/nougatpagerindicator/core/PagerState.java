@@ -0,0 +1,25 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Indicates current state of {@link IndicatorState}
+ * Created by Michal on 29.06.17.
+ */
+
+public enum PagerState {
+    /**
+     * Glue follows pager which is being scrolled
+     */
+    SCROLLING,
+    /**
+     * Pager stopped, glue is being animated back to zero
+     */
+    DISCONNECTING,
+    /**
+     * Selected dot is animated to another one without pager, see {@link IndicatorState#jump(int, int)}
+     */
+    JUMPING,
+    /**
+     * Nothing is being animated now
+     */
+    STILL;
+}
@@ -0,0 +1,67 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Feeds {@link ScrollRecording} into {@link IndicatorState} deterministically. Glue transitions requested by state
+ * finish immediately as if their animator ended at once, so the same recording always produces the same states.
+ * Useful for reproducing bugs from captured traces and for benchmarks.
+ */
+
+public class ScrollPlayer {
+
+    /**
+     * Receives state after each replayed callback
+     */
+    public interface StepListener {
+
+        /**
+         * @param index   index of callback in recording
+         * @param state   state after callback was processed
+         * @param actions actions returned by {@link IndicatorState#onPageScrolled(int, float)}
+         */
+        void onStep(int index, IndicatorState state, int actions);
+    }
+
+    /**
+     * Replays all callbacks of recording
+     *
+     * @param recording recorded callbacks
+     * @param state     target state
+     * @param listener  listener called after each callback or null
+     * @return actions of all callbacks merged together
+     */
+    public static int play(ScrollRecording recording, IndicatorState state, StepListener listener) {
+        int actions = IndicatorState.ACTION_NONE;
+
+        for (int i = 0; i < recording.size(); ++i) {
+            int stepActions = scroll(state, recording.getPosition(i), recording.getOffset(i));
+            actions |= stepActions;
+
+            if (listener != null) {
+                listener.onStep(i, state, stepActions);
+            }
+        }
+
+        return actions;
+    }
+
+    /**
+     * Processes one scroll callback and applies glue changes immediately as if animator finished at once
+     *
+     * @param state    target state
+     * @param position position of page which is on the left side of screen
+     * @param offset   offset of that page
+     * @return actions returned by state
+     */
+    public static int scroll(IndicatorState state, int position, float offset) {
+        int actions = state.onPageScrolled(position, offset);
+
+        if ((actions & IndicatorState.ACTION_CONNECT) != 0) {
+            state.setGlueRatio(state.getGlueDistance());
+        } else if ((actions & IndicatorState.ACTION_DISCONNECT) != 0) {
+            state.setGlueRatio(0F);
+            state.onDisconnected();
+        }
+
+        return actions;
+    }
+}
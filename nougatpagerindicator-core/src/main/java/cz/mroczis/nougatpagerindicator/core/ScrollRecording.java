@@ -0,0 +1,211 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Sequence of scroll callbacks of pager - time, position, offset and offset in pixels of each of them.
+ * Values are kept in primitive arrays, so adding callback does not allocate unless arrays grow.
+ * <p>
+ * Binary format: magic number and version followed by callbacks. Each callback is stored as
+ * time difference from previous callback in microseconds, position and pixels as variable-length integers
+ * and offset as 4-byte float. Typical callback takes about 9 bytes.
+ * </p>
+ */
+
+public final class ScrollRecording {
+
+    private static final int MAGIC = 0x4E50_4952; // "NPIR"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private long[] mTimes;
+    private int[] mPositions;
+    private float[] mOffsets;
+    private int[] mPixels;
+    private int mSize;
+
+    public ScrollRecording() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial count of callbacks which fit without growing
+     */
+    public ScrollRecording(int capacity) {
+        capacity = Math.max(1, capacity);
+        mTimes = new long[capacity];
+        mPositions = new int[capacity];
+        mOffsets = new float[capacity];
+        mPixels = new int[capacity];
+    }
+
+    /**
+     * Appends one callback
+     *
+     * @param timeNanos time of callback in nanoseconds, it must not be lower than time of previous callback
+     * @param position  position passed to {@code onPageScrolled}
+     * @param offset    offset passed to {@code onPageScrolled}
+     * @param pixels    offset in pixels passed to {@code onPageScrolled}
+     */
+    public void add(long timeNanos, int position, float offset, int pixels) {
+        if (mSize == mTimes.length) {
+            int capacity = mSize * 2;
+            mTimes = Arrays.copyOf(mTimes, capacity);
+            mPositions = Arrays.copyOf(mPositions, capacity);
+            mOffsets = Arrays.copyOf(mOffsets, capacity);
+            mPixels = Arrays.copyOf(mPixels, capacity);
+        }
+
+        mTimes[mSize] = timeNanos;
+        mPositions[mSize] = position;
+        mOffsets[mSize] = offset;
+        mPixels[mSize] = pixels;
+        mSize++;
+    }
+
+    /**
+     * Removes all callbacks, arrays are kept
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return time of callback in nanoseconds, time of the first callback is 0 in recordings that were read
+     */
+    public long getTime(int index) {
+        return mTimes[checkIndex(index)];
+    }
+
+    public int getPosition(int index) {
+        return mPositions[checkIndex(index)];
+    }
+
+    public float getOffset(int index) {
+        return mOffsets[checkIndex(index)];
+    }
+
+    public int getPixels(int index) {
+        return mPixels[checkIndex(index)];
+    }
+
+    /**
+     * Writes recording in binary format, stream is not closed
+     *
+     * @param stream target stream
+     * @throws IOException when stream fails
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+
+        long previousMicros = mSize > 0 ? mTimes[0] / 1000L : 0L;
+        for (int i = 0; i < mSize; ++i) {
+            long micros = mTimes[i] / 1000L;
+            writeVarLong(out, Math.max(0L, micros - previousMicros));
+            writeVarLong(out, zigZag(mPositions[i]));
+            out.writeFloat(mOffsets[i]);
+            writeVarLong(out, zigZag(mPixels[i]));
+            previousMicros = micros;
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Reads recording written by {@link #write(OutputStream)}, stream is read until its end and it is not closed
+     *
+     * @param stream source stream
+     * @return read recording
+     * @throws IOException when stream fails or does not contain recording
+     */
+    public static ScrollRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Stream does not contain scroll recording");
+        }
+
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of scroll recording " + version);
+        }
+
+        ScrollRecording recording = new ScrollRecording();
+        long micros = 0L;
+
+        while (true) {
+            int first = in.read();
+            if (first < 0) {
+                break;
+            }
+
+            micros += readVarLong(in, first);
+            int position = (int) unZigZag(readVarLong(in, in.readUnsignedByte()));
+            float offset = in.readFloat();
+            int pixels = (int) unZigZag(readVarLong(in, in.readUnsignedByte()));
+
+            recording.add(micros * 1000L, position, offset, pixels);
+        }
+
+        return recording;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of range [0, " + mSize + ")");
+        }
+        return index;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * @param first first byte of number which was already read
+     */
+    private static long readVarLong(DataInputStream in, int first) throws IOException {
+        long value = first & 0x7F;
+        int shift = 7;
+
+        while ((first & 0x80) != 0) {
+            if (shift > 63) {
+                throw new IOException("Malformed scroll recording");
+            }
+
+            first = in.read();
+            if (first < 0) {
+                throw new EOFException("Scroll recording is truncated");
+            }
+
+            value |= (long) (first & 0x7F) << shift;
+            shift += 7;
+        }
+
+        return value;
+    }
+}
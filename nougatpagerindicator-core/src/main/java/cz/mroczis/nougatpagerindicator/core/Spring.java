@@ -0,0 +1,129 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+/**
+ * Damped spring with unit mass. Its target can be changed at any time, position and velocity are kept,
+ * so motion continues smoothly towards the new target. It does not allocate while stepping.
+ */
+
+public class Spring {
+
+    /**
+     * Default stiffness, spring settles in roughly the same time as fixed length glue animation
+     */
+    public static final float DEFAULT_STIFFNESS = 1500F;
+
+    /**
+     * Critical damping, spring reaches its target as fast as possible without overshooting
+     */
+    public static final float DEFAULT_DAMPING_RATIO = 1F;
+
+    /**
+     * Longest time step of integration in seconds, longer frames are split so integration stays stable
+     */
+    private static final float MAX_STEP = 1F / 240F;
+
+    /**
+     * Spring is settled when it is closer to target than this and moves slower than {@link #SETTLE_VELOCITY}
+     */
+    private static final float SETTLE_DISTANCE = 0.001F;
+    private static final float SETTLE_VELOCITY = 0.01F;
+
+    private float mStiffness = DEFAULT_STIFFNESS;
+    private float mDampingRatio = DEFAULT_DAMPING_RATIO;
+
+    private float mPosition;
+    private float mVelocity;
+    private float mTarget;
+
+    public float getStiffness() {
+        return mStiffness;
+    }
+
+    /**
+     * @param stiffness stiffness of spring, bigger values make motion faster
+     */
+    public void setStiffness(float stiffness) {
+        if (stiffness <= 0F) {
+            throw new IllegalArgumentException("Stiffness must be positive, provided argument is " + stiffness);
+        }
+
+        mStiffness = stiffness;
+    }
+
+    public float getDampingRatio() {
+        return mDampingRatio;
+    }
+
+    /**
+     * @param dampingRatio 1 is critical damping, lower values make spring bounce
+     */
+    public void setDampingRatio(float dampingRatio) {
+        if (dampingRatio < 0F) {
+            throw new IllegalArgumentException("Damping ratio must not be negative, provided argument is " + dampingRatio);
+        }
+
+        mDampingRatio = dampingRatio;
+    }
+
+    public float getPosition() {
+        return mPosition;
+    }
+
+    public void setPosition(float position) {
+        mPosition = position;
+    }
+
+    public float getVelocity() {
+        return mVelocity;
+    }
+
+    /**
+     * @param velocity velocity in units of position per second
+     */
+    public void setVelocity(float velocity) {
+        mVelocity = velocity;
+    }
+
+    public float getTarget() {
+        return mTarget;
+    }
+
+    public void setTarget(float target) {
+        mTarget = target;
+    }
+
+    /**
+     * @return true if spring is at its target and does not move
+     */
+    public boolean isSettled() {
+        return Math.abs(mPosition - mTarget) < SETTLE_DISTANCE && Math.abs(mVelocity) < SETTLE_VELOCITY;
+    }
+
+    /**
+     * Moves spring forward in time. When it settles, it is snapped exactly to its target
+     *
+     * @param seconds elapsed time in seconds
+     * @return true if spring is settled
+     */
+    public boolean step(float seconds) {
+        float damping = 2F * mDampingRatio * (float) Math.sqrt(mStiffness);
+
+        while (seconds > 0F) {
+            float step = Math.min(seconds, MAX_STEP);
+            float acceleration = -mStiffness * (mPosition - mTarget) - damping * mVelocity;
+
+            // Semi-implicit Euler, velocity is updated first
+            mVelocity += acceleration * step;
+            mPosition += mVelocity * step;
+            seconds -= step;
+        }
+
+        if (isSettled()) {
+            mPosition = mTarget;
+            mVelocity = 0F;
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks bounded window of dots - its width, sliding and shrunk edges
+ */
+
+public class DotLayoutTest {
+
+    private static final int DOT_RADIUS = 8;
+    private static final int DOT_SPACING = 12;
+    private static final int PITCH = 2 * DOT_RADIUS + DOT_SPACING;
+    private static final int MAX_VISIBLE_DOTS = 9;
+    private static final int WINDOW_WIDTH = MAX_VISIBLE_DOTS * PITCH - DOT_SPACING;
+
+    private DotLayout mLayout;
+
+    @Before
+    public void setUp() {
+        mLayout = new DotLayout();
+        mLayout.setDotRadius(DOT_RADIUS);
+        mLayout.setSpaceBetweenDots(DOT_SPACING);
+        mLayout.setDotsCount(100);
+        mLayout.setMaxVisibleDots(MAX_VISIBLE_DOTS);
+        mLayout.setWidth(1080);
+    }
+
+    @Test
+    public void boundedWindowDoesNotGrowWithCountOfDots() {
+        assertEquals(WINDOW_WIDTH, mLayout.getPreferredWidth());
+
+        mLayout.setDotsCount(5);
+        assertEquals(mLayout.getTotalWidth(), mLayout.getPreferredWidth());
+    }
+
+    @Test
+    public void onlyDotsInWindowAreVisible() {
+        mLayout.updateScrollOffset(50);
+
+        int first = mLayout.getFirstVisible(0);
+        int last = mLayout.getLastVisible(1080);
+        assertEquals(MAX_VISIBLE_DOTS, last - first + 1);
+        assertTrue(first <= 49 && last >= 51);
+    }
+
+    @Test
+    public void selectedDotAndNeighboursAreNotShrunk() {
+        for (int currentItem = 0; currentItem < mLayout.getDotsCount(); ++currentItem) {
+            mLayout.updateScrollOffset(currentItem);
+
+            for (int position = Math.max(0, currentItem - 1); position <= Math.min(99, currentItem + 1); ++position) {
+                assertEquals("dot " + position + " when " + currentItem + " is selected", 1F, mLayout.getDotScale(position), 0F);
+            }
+        }
+    }
+
+    @Test
+    public void edgesShrinkOnlyWhenMoreDotsAreBehindThem() {
+        mLayout.updateScrollOffset(0);
+        assertEquals(1F, mLayout.getDotScale(0), 0F);
+        assertEquals(DotLayout.MIN_EDGE_SCALE, mLayout.getDotScale(mLayout.getLastVisible(1080)), 1e-6F);
+
+        mLayout.updateScrollOffset(50);
+        assertEquals(DotLayout.MIN_EDGE_SCALE, mLayout.getDotScale(mLayout.getFirstVisible(0)), 1e-6F);
+        assertEquals(DotLayout.MIN_EDGE_SCALE, mLayout.getDotScale(mLayout.getLastVisible(1080)), 1e-6F);
+
+        mLayout.updateScrollOffset(99);
+        assertEquals(1F, mLayout.getDotScale(99), 0F);
+    }
+
+    @Test
+    public void windowSlidesWithScrollPosition() {
+        mLayout.updateScrollOffset(50);
+        int offset = mLayout.getScrollOffset();
+
+        assertTrue(mLayout.updateScrollOffset(50.25F));
+        assertEquals(offset + PITCH / 4, mLayout.getScrollOffset());
+
+        assertTrue(mLayout.updateScrollOffset(51F));
+        assertEquals(offset + PITCH, mLayout.getScrollOffset());
+
+        assertFalse(mLayout.updateScrollOffset(51F));
+    }
+
+    @Test
+    public void glueUsesScaledRadius() {
+        IndicatorState state = new IndicatorState();
+        float[] glue = new float[DotLayout.GLUE_SIZE];
+
+        mLayout.updateScrollOffset(50);
+        state.setCurrentItem(50);
+        state.connect(50, 51);
+        state.setGlueRatio(0.5F);
+        mLayout.fillGlue(state, glue);
+
+        assertEquals(DOT_RADIUS * mLayout.getDotScale(50), glue[DotLayout.GLUE_RADIUS], 0F);
+        assertEquals(DOT_RADIUS * mLayout.getDotScale(51), glue[DotLayout.GLUE_SIBLING_RADIUS], 0F);
+
+        // Small window can not keep neighbours out of its edges, sibling is drawn as small as it is in the window
+        mLayout.setMaxVisibleDots(5);
+        mLayout.updateScrollOffset(50);
+        mLayout.fillGlue(state, glue);
+
+        assertEquals(DOT_RADIUS, glue[DotLayout.GLUE_RADIUS], 0F);
+        assertTrue(glue[DotLayout.GLUE_SIBLING_RADIUS] < DOT_RADIUS);
+        assertEquals(DOT_RADIUS * mLayout.getDotScale(51), glue[DotLayout.GLUE_SIBLING_RADIUS], 0F);
+    }
+}
@@ -0,0 +1,149 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks bulk changes of statuses, ranges of changed dots which drive partial redraws
+ * and that statuses follow their dots when items are inserted, removed or moved
+ */
+
+public class DotStatusStoreTest {
+
+    private DotStatusStore mStore;
+
+    @Before
+    public void setUp() {
+        mStore = new DotStatusStore();
+        mStore.set(2, 2, 1);
+        mStore.set(5, 5, 2);
+    }
+
+    @Test
+    public void bulkSetReportsOnlyChangedDots() {
+        // Dot 2 already has the status
+        assertTrue(mStore.set(2, 5, 1));
+        assertChanged(3, 5);
+        assertStatuses(0, 0, 1, 1, 1, 1);
+
+        assertTrue(mStore.set(0, 9, 2));
+        assertChanged(0, 9);
+        assertStatuses(2, 2, 2, 2, 2, 2, 2, 2, 2, 2);
+    }
+
+    @Test
+    public void unchangedSetReportsNothing() {
+        int modifications = mStore.getModificationCount();
+
+        assertFalse(mStore.set(2, 2, 1));
+        assertTrue(mStore.getChangedLast() < mStore.getChangedFirst());
+        assertEquals(modifications, mStore.getModificationCount());
+    }
+
+    @Test
+    public void removingStatusBeyondStoredDotsIsClamped() {
+        assertTrue(mStore.set(4, 100000, 0));
+        assertChanged(5, 5);
+        assertStatuses(0, 0, 1, 0, 0, 0);
+
+        assertFalse(mStore.set(50, 100000, 0));
+        assertFalse(mStore.isEmpty());
+
+        assertTrue(mStore.set(0, 100000, 0));
+        assertChanged(2, 2);
+        assertTrue(mStore.isEmpty());
+    }
+
+    @Test
+    public void clearReportsRangeOfRemovedStatuses() {
+        int modifications = mStore.getModificationCount();
+
+        assertTrue(mStore.clear());
+        assertChanged(2, 5);
+        assertTrue(mStore.isEmpty());
+        assertStatuses(0, 0, 0, 0, 0, 0);
+        assertEquals(modifications + 1, mStore.getModificationCount());
+
+        assertFalse(mStore.clear());
+        assertTrue(mStore.getChangedLast() < mStore.getChangedFirst());
+        assertEquals(modifications + 1, mStore.getModificationCount());
+    }
+
+    @Test
+    public void truncateDropsStatusesOfMissingDots() {
+        mStore.truncate(4);
+
+        assertChanged(5, 5);
+        assertStatuses(0, 0, 1, 0, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void statusOutOfRangeIsRejected() {
+        mStore.set(0, 0, DotStatusStore.MAX_STATUS + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reversedRangeIsRejected() {
+        mStore.set(3, 2, 1);
+    }
+
+    @Test
+    public void insertedDotsHaveNoStatus() {
+        mStore.onItemRangeInserted(3, 2);
+
+        assertStatuses(0, 0, 1, 0, 0, 0, 0, 2);
+        assertTrue(mStore.getChangedFirst() <= 3 && mStore.getChangedLast() >= 7);
+    }
+
+    @Test
+    public void insertionAfterStoredDotsChangesNothing() {
+        mStore.onItemRangeInserted(10, 5);
+
+        assertTrue(mStore.getChangedLast() < mStore.getChangedFirst());
+        assertStatuses(0, 0, 1, 0, 0, 2);
+    }
+
+    @Test
+    public void removedDotsDropStatus() {
+        mStore.onItemRangeRemoved(1, 2);
+
+        assertStatuses(0, 0, 0, 2, 0, 0);
+        assertTrue(mStore.getChangedFirst() <= 1 && mStore.getChangedLast() >= 5);
+    }
+
+    @Test
+    public void removalPastStoredDotsIsClamped() {
+        mStore.onItemRangeRemoved(4, 100);
+
+        assertStatuses(0, 0, 1, 0, 0, 0);
+        assertFalse(mStore.isEmpty());
+
+        mStore.onItemRangeRemoved(0, 100);
+        assertTrue(mStore.isEmpty());
+    }
+
+    @Test
+    public void movedDotsKeepStatus() {
+        mStore.onItemRangeMoved(2, 6, 1);
+        assertStatuses(0, 0, 0, 0, 2, 0, 1);
+        assertTrue(mStore.getChangedFirst() <= 2 && mStore.getChangedLast() >= 6);
+
+        mStore.onItemRangeMoved(6, 0, 1);
+        assertStatuses(1, 0, 0, 0, 0, 2, 0);
+    }
+
+    private void assertChanged(int first, int last) {
+        assertEquals("first changed dot", first, mStore.getChangedFirst());
+        assertEquals("last changed dot", last, mStore.getChangedLast());
+    }
+
+    private void assertStatuses(int... statuses) {
+        for (int i = 0; i < statuses.length; ++i) {
+            assertEquals("status of dot " + i, statuses[i], mStore.get(i));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Compares {@link EasingTable} with exact curves it was baked from
+ */
+
+public class EasingTableTest {
+
+    /**
+     * Largest error of default table, it is reached at the kink of {@link EasingCurves#MOVEMENT_CORRECTION}
+     */
+    private static final float MAX_ERROR = 0.0013F;
+
+    /**
+     * Error of smooth curves is much smaller than error at the kink
+     */
+    private static final float MAX_SMOOTH_ERROR = 0.00001F;
+
+    private static final int CHECKED_INPUTS = 100000;
+
+    @Test
+    public void movementCorrectionErrorIsBounded() {
+        assertMaxError(EasingCurves.MOVEMENT_CORRECTION, MAX_ERROR);
+    }
+
+    @Test
+    public void smoothCurvesErrorIsBounded() {
+        assertMaxError(EasingCurves.DECELERATE, MAX_SMOOTH_ERROR);
+        assertMaxError(EasingCurves.ACCELERATE_DECELERATE, MAX_SMOOTH_ERROR);
+    }
+
+    @Test
+    public void endpointsAreExact() {
+        for (EasingCurve curve : new EasingCurve[]{EasingCurves.DECELERATE, EasingCurves.ACCELERATE_DECELERATE}) {
+            EasingTable table = new EasingTable(curve);
+            assertEquals(0F, table.getValue(0F), 0F);
+            assertEquals(1F, table.getValue(1F), 0F);
+        }
+
+        // Sibling starts slightly moved, the table keeps exact value of the curve
+        EasingTable movement = new EasingTable(EasingCurves.MOVEMENT_CORRECTION);
+        assertEquals(EasingCurves.MOVEMENT_CORRECTION.getValue(0F), movement.getValue(0F), 0F);
+        assertEquals(1F, movement.getValue(1F), 0F);
+    }
+
+    @Test
+    public void inputOutOfRangeIsClamped() {
+        EasingTable table = new EasingTable(EasingCurves.DECELERATE);
+
+        assertEquals(0F, table.getValue(-0.5F), 0F);
+        assertEquals(0F, table.getValue(Float.NEGATIVE_INFINITY), 0F);
+        assertEquals(1F, table.getValue(1.5F), 0F);
+        assertEquals(1F, table.getValue(Float.POSITIVE_INFINITY), 0F);
+    }
+
+    @Test
+    public void bakedCurveIsNotBakedAgain() {
+        EasingTable table = EasingTable.bake(EasingCurves.DECELERATE);
+        assertSame(table, EasingTable.bake(table));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sizeMustBePositive() {
+        new EasingTable(EasingCurves.DECELERATE, 0);
+    }
+
+    private static void assertMaxError(EasingCurve curve, float maxError) {
+        EasingTable table = new EasingTable(curve);
+
+        for (int i = 0; i <= CHECKED_INPUTS; ++i) {
+            float input = (float) i / CHECKED_INPUTS;
+            assertEquals("value at " + input, curve.getValue(input), table.getValue(input), maxError);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_CATCH_UP;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_CONNECT;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_DISCONNECT;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_INVALIDATE;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_NONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays sequences of scroll callbacks into {@link IndicatorState} and checks returned actions and glue after each one
+ */
+
+public class IndicatorStateTest {
+
+    private IndicatorState mState;
+
+    @Before
+    public void setUp() {
+        mState = new IndicatorState();
+    }
+
+    @Test
+    public void slowSwipeConnectsAndDisconnectsNeighbours() {
+        assertEquals(ACTION_CONNECT, mState.onPageScrolled(0, 0.2F));
+        assertState(0, 0, 1, PagerState.SCROLLING);
+
+        assertEquals(ACTION_NONE, mState.onPageScrolled(0, 0.7F));
+        assertState(0, 0, 1, PagerState.SCROLLING);
+
+        assertEquals(ACTION_DISCONNECT, mState.onPageScrolled(1, 0F));
+        assertState(1, 0, 1, PagerState.DISCONNECTING);
+
+        mState.onDisconnected();
+        assertEquals(PagerState.STILL, mState.getPagerState());
+    }
+
+    @Test
+    public void flingSkipsSeveralPagesInOneCallback() {
+        ScrollPlayer.scroll(mState, 0, 0.2F);
+
+        assertEquals(ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(3, 0.5F));
+        assertState(3, 3, 4, PagerState.SCROLLING);
+        assertEquals(3, mState.getCatchUpSteps());
+
+        assertEquals(ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(7, 0.1F));
+        assertState(7, 7, 8, PagerState.SCROLLING);
+        assertEquals(4, mState.getCatchUpSteps());
+    }
+
+    @Test
+    public void flingFromStillCatchesUpAndConnects() {
+        assertEquals(ACTION_CONNECT | ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(5, 0.5F));
+        assertState(5, 5, 6, PagerState.SCROLLING);
+        assertEquals(5, mState.getCatchUpSteps());
+    }
+
+    @Test
+    public void settleAfterFlingMovesGlueToReachedPage() {
+        ScrollPlayer.scroll(mState, 0, 0.2F);
+
+        assertEquals(ACTION_DISCONNECT | ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(4, 0F));
+        assertState(4, 3, 4, PagerState.DISCONNECTING);
+        assertEquals(3, mState.getCatchUpSteps());
+    }
+
+    @Test
+    public void reversedDirectionMovesGlueBack() {
+        mState.setCurrentItem(2);
+        assertEquals(ACTION_CONNECT, mState.onPageScrolled(2, 0.5F));
+        assertState(2, 2, 3, PagerState.SCROLLING);
+
+        assertEquals(ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(1, 0.5F));
+        assertState(1, 1, 2, PagerState.SCROLLING);
+        assertEquals(1, mState.getCatchUpSteps());
+
+        assertEquals(ACTION_DISCONNECT, mState.onPageScrolled(1, 0F));
+        assertState(1, 1, 2, PagerState.DISCONNECTING);
+    }
+
+    @Test
+    public void reversedFlingMovesGlueBySeveralPages() {
+        ScrollPlayer.scroll(mState, 6, 0.5F);
+
+        assertEquals(ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(2, 0.9F));
+        assertState(2, 2, 3, PagerState.SCROLLING);
+        assertEquals(4, mState.getCatchUpSteps());
+    }
+
+    @Test
+    public void pageChangeWithoutScrollInvalidatesButKeepsGlue() {
+        ScrollPlayer.scroll(mState, 2, 0.5F);
+        ScrollPlayer.scroll(mState, 3, 0F);
+        assertState(3, 2, 3, PagerState.STILL);
+
+        // Glue does not move, so renderer has to redraw previous and new selected dot itself
+        assertEquals(ACTION_INVALIDATE, mState.onPageScrolled(8, 0F));
+        assertState(8, 2, 3, PagerState.STILL);
+        assertEquals(0F, mState.getGlueRatio(), 0F);
+
+        assertEquals(ACTION_NONE, mState.onPageScrolled(8, 0F));
+    }
+
+    @Test
+    public void scrollInterruptsJump() {
+        mState.jump(0, 4);
+        assertState(0, 0, 4, PagerState.JUMPING);
+
+        assertEquals(ACTION_CONNECT | ACTION_INVALIDATE | ACTION_CATCH_UP, mState.onPageScrolled(2, 0.5F));
+        assertState(2, 2, 3, PagerState.SCROLLING);
+    }
+
+    @Test
+    public void settleFinishesJump() {
+        mState.jump(1, 5);
+        mState.setGlueRatio(2.5F);
+
+        mState.settle();
+        assertState(5, 1, 5, PagerState.STILL);
+        assertEquals(0F, mState.getGlueRatio(), 0F);
+        assertEquals(5F, mState.getLastScrollValue(), 0F);
+    }
+
+    @Test
+    public void jumpEndSelectsTarget() {
+        mState.jump(1, 5);
+
+        assertTrue(mState.onJumpEnd());
+        assertState(5, 1, 5, PagerState.DISCONNECTING);
+    }
+
+    @Test
+    public void movedSelectedItemStaysSelected() {
+        mState.setCurrentItem(2);
+
+        mState.onItemRangeMoved(2, 7, 1);
+        assertEquals(7, mState.getCurrentItem());
+
+        mState.onItemRangeMoved(7, 0, 1);
+        assertEquals(0, mState.getCurrentItem());
+    }
+
+    @Test
+    public void itemMovedOverSelectedItemShiftsIt() {
+        mState.setCurrentItem(4);
+
+        mState.onItemRangeMoved(1, 6, 1);
+        assertEquals(3, mState.getCurrentItem());
+
+        mState.onItemRangeMoved(6, 1, 1);
+        assertEquals(4, mState.getCurrentItem());
+
+        mState.onItemRangeMoved(6, 8, 1);
+        assertEquals(4, mState.getCurrentItem());
+    }
+
+    private void assertState(int currentItem, int gluedDotLeft, int gluedDotRight, PagerState pagerState) {
+        assertEquals("current item", currentItem, mState.getCurrentItem());
+        assertEquals("left glued dot", gluedDotLeft, mState.getGluedDotLeft());
+        assertEquals("right glued dot", gluedDotRight, mState.getGluedDotRight());
+        assertEquals("pager state", pagerState, mState.getPagerState());
+    }
+}
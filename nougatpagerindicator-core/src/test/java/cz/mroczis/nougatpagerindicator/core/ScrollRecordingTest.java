@@ -0,0 +1,128 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_CATCH_UP;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_CONNECT;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_DISCONNECT;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_INVALIDATE;
+import static cz.mroczis.nougatpagerindicator.core.IndicatorState.ACTION_NONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Round-trips recording through binary format and replays it into {@link IndicatorState}.
+ * Resource {@code fling.npir} holds the same callbacks as {@link #createFling()}, so changes of format are caught.
+ */
+
+public class ScrollRecordingTest {
+
+    private static final long FRAME_NANOS = 16000000L;
+    private static final int VIEW_WIDTH = 1080;
+
+    /**
+     * Positions and offsets of fling - slow start, two pages skipped in one callback, reversal and settle
+     */
+    private static final int[] POSITIONS = {0, 0, 2, 3, 2, 3};
+    private static final float[] OFFSETS = {0.1F, 0.6F, 0.3F, 0.5F, 0.8F, 0F};
+
+    /**
+     * Expected state after each replayed callback
+     */
+    private static final int[] ACTIONS = {
+            ACTION_CONNECT,
+            ACTION_NONE,
+            ACTION_INVALIDATE | ACTION_CATCH_UP,
+            ACTION_INVALIDATE | ACTION_CATCH_UP,
+            ACTION_INVALIDATE | ACTION_CATCH_UP,
+            ACTION_DISCONNECT
+    };
+    private static final int[] CURRENT_ITEMS = {0, 0, 2, 3, 2, 3};
+    private static final int[] GLUED_DOTS_LEFT = {0, 0, 2, 3, 2, 2};
+    private static final float[] GLUE_RATIOS = {1F, 1F, 1F, 1F, 1F, 0F};
+
+    @Test
+    public void recordingSurvivesRoundTrip() throws IOException {
+        ScrollRecording recording = createFling();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recording.write(out);
+        ScrollRecording read = ScrollRecording.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertSameCallbacks(recording, read);
+    }
+
+    @Test
+    public void fixtureMatchesCurrentFormat() throws IOException {
+        InputStream stream = getClass().getResourceAsStream("/fling.npir");
+        assertNotNull("fixture fling.npir is missing", stream);
+
+        try {
+            assertSameCallbacks(createFling(), ScrollRecording.read(stream));
+        } finally {
+            stream.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void streamWithoutRecordingIsRejected() throws IOException {
+        ScrollRecording.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}));
+    }
+
+    @Test
+    public void replayProducesExpectedStates() throws IOException {
+        InputStream stream = getClass().getResourceAsStream("/fling.npir");
+        assertNotNull("fixture fling.npir is missing", stream);
+
+        ScrollRecording recording;
+        try {
+            recording = ScrollRecording.read(stream);
+        } finally {
+            stream.close();
+        }
+
+        final int[] steps = new int[1];
+        int actions = ScrollPlayer.play(recording, new IndicatorState(), new ScrollPlayer.StepListener() {
+            @Override
+            public void onStep(int index, IndicatorState state, int actions) {
+                assertEquals("actions of callback " + index, ACTIONS[index], actions);
+                assertEquals("current item after callback " + index, CURRENT_ITEMS[index], state.getCurrentItem());
+                assertEquals("left glued dot after callback " + index, GLUED_DOTS_LEFT[index], state.getGluedDotLeft());
+                assertEquals("right glued dot after callback " + index, GLUED_DOTS_LEFT[index] + 1, state.getGluedDotRight());
+                assertEquals("glue ratio after callback " + index, GLUE_RATIOS[index], state.getGlueRatio(), 0F);
+                steps[0]++;
+            }
+        });
+
+        assertEquals(POSITIONS.length, steps[0]);
+        assertEquals(ACTION_CONNECT | ACTION_DISCONNECT | ACTION_INVALIDATE | ACTION_CATCH_UP, actions);
+    }
+
+    /**
+     * @return recording of the same callbacks as fixture {@code fling.npir}
+     */
+    static ScrollRecording createFling() {
+        ScrollRecording recording = new ScrollRecording();
+        for (int i = 0; i < POSITIONS.length; ++i) {
+            recording.add(i * FRAME_NANOS, POSITIONS[i], OFFSETS[i], (int) (OFFSETS[i] * VIEW_WIDTH));
+        }
+        return recording;
+    }
+
+    private static void assertSameCallbacks(ScrollRecording expected, ScrollRecording actual) {
+        assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); ++i) {
+            // Times are stored relatively to the first callback with precision of microseconds
+            assertEquals("time of callback " + i, expected.getTime(i) - expected.getTime(0), actual.getTime(i));
+            assertEquals("position of callback " + i, expected.getPosition(i), actual.getPosition(i));
+            assertEquals("offset of callback " + i, expected.getOffset(i), actual.getOffset(i), 0F);
+            assertEquals("pixels of callback " + i, expected.getPixels(i), actual.getPixels(i));
+        }
+    }
+}
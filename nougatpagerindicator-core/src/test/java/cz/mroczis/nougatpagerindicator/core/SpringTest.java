@@ -0,0 +1,152 @@
+package cz.mroczis.nougatpagerindicator.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Steps {@link Spring} frame by frame at 60 fps and checks how it settles, how it follows new target
+ * and how it takes velocity handed over after start
+ */
+
+public class SpringTest {
+
+    private static final float FRAME = 1F / 60F;
+
+    /**
+     * Default spring settles in roughly the time of fixed length glue animation, 175 ms, this leaves a margin
+     */
+    private static final int MAX_SETTLE_FRAMES = 30;
+
+    private Spring mSpring;
+
+    @Before
+    public void setUp() {
+        mSpring = new Spring();
+    }
+
+    @Test
+    public void settlesWithinBoundedCountOfFrames() {
+        mSpring.setTarget(1F);
+
+        assertTrue("not settled in " + MAX_SETTLE_FRAMES + " frames", stepUntilSettled(MAX_SETTLE_FRAMES) <= MAX_SETTLE_FRAMES);
+        assertEquals(1F, mSpring.getPosition(), 0F);
+        assertEquals(0F, mSpring.getVelocity(), 0F);
+    }
+
+    @Test
+    public void settlesWithInitialVelocityAgainstTarget() {
+        mSpring.setTarget(1F);
+        mSpring.setVelocity(-20F);
+
+        assertTrue(stepUntilSettled(2 * MAX_SETTLE_FRAMES) <= 2 * MAX_SETTLE_FRAMES);
+        assertEquals(1F, mSpring.getPosition(), 0F);
+    }
+
+    @Test
+    public void bouncingSpringSettles() {
+        mSpring.setDampingRatio(0.3F);
+        mSpring.setTarget(1F);
+
+        boolean overshot = false;
+        for (int frame = 0; frame < 10 * MAX_SETTLE_FRAMES && !mSpring.step(FRAME); ++frame) {
+            overshot |= mSpring.getPosition() > 1F;
+        }
+
+        assertTrue(overshot);
+        assertTrue(mSpring.isSettled());
+    }
+
+    @Test
+    public void longFrameIsIntegratedStably() {
+        mSpring.setTarget(1F);
+
+        // Frame skipped by slow device, integration is split into short steps
+        assertTrue(mSpring.step(1F));
+        assertEquals(1F, mSpring.getPosition(), 0F);
+    }
+
+    @Test
+    public void criticallyDampedSpringDoesNotOvershoot() {
+        mSpring.setTarget(1F);
+
+        for (int frame = 0; frame < MAX_SETTLE_FRAMES; ++frame) {
+            mSpring.step(FRAME);
+            assertTrue("position " + mSpring.getPosition() + " in frame " + frame, mSpring.getPosition() <= 1F);
+        }
+    }
+
+    @Test
+    public void retargetingKeepsPositionAndVelocity() {
+        mSpring.setTarget(1F);
+        for (int frame = 0; frame < 3; ++frame) {
+            mSpring.step(FRAME);
+        }
+
+        float position = mSpring.getPosition();
+        float velocity = mSpring.getVelocity();
+        assertTrue(velocity > 0F);
+
+        mSpring.setTarget(-1F);
+        assertEquals(position, mSpring.getPosition(), 0F);
+        assertEquals(velocity, mSpring.getVelocity(), 0F);
+
+        // Spring restarted from the same position without velocity would turn back sooner
+        Spring restarted = new Spring();
+        restarted.setPosition(position);
+        restarted.setTarget(-1F);
+        restarted.step(FRAME);
+        mSpring.step(FRAME);
+        assertTrue(mSpring.getPosition() > restarted.getPosition());
+
+        assertTrue(stepUntilSettled(2 * MAX_SETTLE_FRAMES) <= 2 * MAX_SETTLE_FRAMES);
+        assertEquals(-1F, mSpring.getPosition(), 0F);
+    }
+
+    @Test
+    public void velocityHandedOverAfterStartMovesSpringFaster() {
+        Spring handedOver = new Spring();
+        handedOver.setTarget(1F);
+        mSpring.setTarget(1F);
+
+        // Both springs start still, velocity of gesture is known after the first frame
+        handedOver.step(FRAME);
+        mSpring.step(FRAME);
+        assertEquals(mSpring.getPosition(), handedOver.getPosition(), 0F);
+
+        float position = handedOver.getPosition();
+        handedOver.setVelocity(30F);
+        assertEquals(position, handedOver.getPosition(), 0F);
+        assertEquals(1F, handedOver.getTarget(), 0F);
+
+        handedOver.step(FRAME);
+        mSpring.step(FRAME);
+        assertTrue(handedOver.getPosition() > mSpring.getPosition());
+        assertFalse(handedOver.isSettled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stiffnessMustBePositive() {
+        mSpring.setStiffness(0F);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void dampingRatioMustNotBeNegative() {
+        mSpring.setDampingRatio(-1F);
+    }
+
+    /**
+     * @return count of frames until spring settled, maxFrames + 1 when it did not settle
+     */
+    private int stepUntilSettled(int maxFrames) {
+        for (int frame = 1; frame <= maxFrames; ++frame) {
+            if (mSpring.step(FRAME)) {
+                return frame;
+            }
+        }
+        return maxFrames + 1;
+    }
+}
@@ -0,0 +1,78 @@
+package cz.mroczis.nougatpagerindicator.testing;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures bytes allocated by current thread while frames of a {@link Scenario} run. Scenario is warmed up first,
+ * so only allocations made in steady state are reported. It needs HotSpot compatible JVM, it does not run on Android.
+ */
+
+public final class AllocationMeter {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * Measurement is repeated when it allocates, because compiler of JVM may allocate in background of measured thread.
+     * Allocation made by measured code appears in every attempt.
+     */
+    private static final int ATTEMPTS = 3;
+
+    private final com.sun.management.ThreadMXBean mThreadBean;
+
+    /**
+     * Count of frames of last measurement
+     */
+    private int mMeasuredFrames;
+
+    public AllocationMeter() {
+        mThreadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        mThreadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Warms scenario up and measures allocations of several its rounds
+     *
+     * @param scenario measured code
+     * @return bytes allocated per frame, zero when scenario does not allocate
+     */
+    public double measureBytesPerFrame(Scenario scenario) {
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            scenario.run();
+        }
+
+        long allocated = Long.MAX_VALUE;
+        int frames = 0;
+        for (int attempt = 0; attempt < ATTEMPTS && allocated != 0; ++attempt) {
+            long before = mThreadBean.getThreadAllocatedBytes(threadId);
+            frames = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+                frames += scenario.run();
+            }
+            allocated = mThreadBean.getThreadAllocatedBytes(threadId) - before;
+        }
+
+        mMeasuredFrames = frames;
+        return frames > 0 ? (double) allocated / frames : 0D;
+    }
+
+    /**
+     * @return count of frames measured by last call of {@link #measureBytesPerFrame(Scenario)}
+     */
+    public int getMeasuredFrames() {
+        return mMeasuredFrames;
+    }
+
+    /**
+     * Code that runs in frames, it must be repeatable without setup
+     */
+    public interface Scenario {
+
+        /**
+         * @return count of simulated frames
+         */
+        int run();
+    }
+}
@@ -0,0 +1,142 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+
+import cz.mroczis.nougatpagerindicator.testing.AllocationMeter;
+
+/**
+ * Runs {@link DotRenderer} inside {@link PagerIndicator} over many frames of swiping through pages and measures
+ * bytes allocated per frame. Indicator receives scroll callbacks and glue changes as it does from pager and from its
+ * animations and draws into {@link RecordingCanvas}, so renderer is called by the canvas adapter of indicator itself.
+ * <p>
+ * Harness runs in JVM unit tests with {@code unitTests.returnDefaultValues = true}, methods of android.jar do nothing there.
+ * </p>
+ */
+
+public final class DotRendererHarness {
+
+    private static final int VIEW_WIDTH = 1080;
+    private static final int VIEW_HEIGHT = 16;
+    private static final int DOT_RADIUS = 8;
+    private static final int DOT_SPACING = 12;
+
+    /**
+     * Count of frames of one glue transition, 175 ms at 60 fps
+     */
+    private static final int GLUE_FRAMES = 11;
+
+    /**
+     * Count of pages swiped by one round, more dots are only drawn
+     */
+    private static final int MAX_SWIPED_PAGES = 50;
+
+    private final PagerIndicator mIndicator;
+    private final RecordingCanvas mCanvas = new RecordingCanvas(VIEW_WIDTH, VIEW_HEIGHT);
+    private final AllocationMeter mMeter = new AllocationMeter();
+    private final int mSwipedPages;
+
+    private final AllocationMeter.Scenario mScenario = new AllocationMeter.Scenario() {
+        @Override
+        public int run() {
+            return drawFrames();
+        }
+    };
+
+    /**
+     * @param renderer  checked renderer
+     * @param dotsCount count of dots
+     */
+    public DotRendererHarness(DotRenderer renderer, int dotsCount) {
+        HarnessContext context = new HarnessContext();
+        IndicatorStyle style = new IndicatorStyle.Builder(context)
+                .setDotRadius(DOT_RADIUS)
+                .setSpaceBetweenDots(DOT_SPACING)
+                .build();
+
+        mIndicator = new PagerIndicator(context, style);
+        mIndicator.setDotRenderer(renderer);
+        mIndicator.setDotsCount(dotsCount);
+        mIndicator.onSizeChanged(VIEW_WIDTH, VIEW_HEIGHT, 0, 0);
+        mSwipedPages = Math.min(dotsCount - 1, MAX_SWIPED_PAGES);
+    }
+
+    /**
+     * Warms renderer up and measures allocations of several rounds of frames
+     *
+     * @return bytes allocated per frame, zero when renderer does not allocate
+     */
+    public double measureAllocatedBytesPerFrame() {
+        return mMeter.measureBytesPerFrame(mScenario);
+    }
+
+    /**
+     * Draws one round - user swipes from the first page to the last swiped one, glue connects and disconnects
+     * over several frames during each swipe. Round ends by return to the first page.
+     *
+     * @return count of drawn frames
+     */
+    public int drawFrames() {
+        int frames = 0;
+
+        for (int page = 0; page < mSwipedPages; ++page) {
+            mIndicator.onPageScrolled(page, 0.5F, VIEW_WIDTH / 2);
+
+            for (int frame = 1; frame <= GLUE_FRAMES; ++frame) {
+                mIndicator.setGlueRatio((float) frame / GLUE_FRAMES);
+                drawFrame();
+                frames++;
+            }
+
+            mIndicator.onPageScrolled(page + 1, 0F, 0);
+
+            for (int frame = GLUE_FRAMES - 1; frame >= 0; --frame) {
+                mIndicator.setGlueRatio((float) frame / GLUE_FRAMES);
+                drawFrame();
+                frames++;
+            }
+        }
+
+        mIndicator.onPageScrolled(0, 0F, 0);
+        drawFrame();
+        return frames + 1;
+    }
+
+    /**
+     * Draws current state of indicator once
+     */
+    public void drawFrame() {
+        mIndicator.onDraw(mCanvas);
+    }
+
+    /**
+     * @return indicator driven by harness, it can be configured before measurement
+     */
+    public PagerIndicator getIndicator() {
+        return mIndicator;
+    }
+
+    /**
+     * @return canvas which renderer draws into
+     */
+    public RecordingCanvas getCanvas() {
+        return mCanvas;
+    }
+
+    /**
+     * Context which only provides resources, their values are zeros in JVM tests and harness overrides all of them
+     */
+    private static final class HarnessContext extends ContextWrapper {
+
+        private final Resources mResources = new Resources(null, null, null);
+
+        HarnessContext() {
+            super(null);
+        }
+
+        @Override
+        public Resources getResources() {
+            return mResources;
+        }
+    }
+}
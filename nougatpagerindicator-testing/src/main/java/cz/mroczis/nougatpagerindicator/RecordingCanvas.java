@@ -0,0 +1,76 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Stand-in for canvas in JVM tests. It does not draw anything, it only counts draw calls,
+ * so renderers can be run without device. Its clip covers the whole view, so view draws only visible dots.
+ */
+
+public class RecordingCanvas extends Canvas {
+
+    private final int mWidth;
+    private final int mHeight;
+    private int mDrawCalls;
+
+    /**
+     * @param width  width of drawn view
+     * @param height height of drawn view
+     */
+    public RecordingCanvas(int width, int height) {
+        mWidth = width;
+        mHeight = height;
+    }
+
+    @Override
+    public boolean getClipBounds(Rect bounds) {
+        // Methods of Rect do nothing in JVM tests, fields are written directly
+        bounds.left = 0;
+        bounds.top = 0;
+        bounds.right = mWidth;
+        bounds.bottom = mHeight;
+        return true;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawPoints(float[] pts, int offset, int count, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        mDrawCalls++;
+    }
+
+    /**
+     * @return count of draw calls since this canvas was created
+     */
+    public int getDrawCalls() {
+        return mDrawCalls;
+    }
+}
@@ -0,0 +1,56 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.support.annotation.NonNull;
+
+/**
+ * Draws shapes of {@link PagerIndicator}. Implement it to change look of dots, for example to draw rounded squares,
+ * drawables or bitmaps, and pass it to {@link PagerIndicator#setDotRenderer(DotRenderer)}.
+ * Default look is drawn by {@link NougatDotRenderer}.
+ * <p>
+ * Methods are called from {@link PagerIndicator#onDraw(Canvas)} for every visible dot in every frame.
+ * Implementations must not allocate objects in them - prepare everything up front and reuse it.
+ * State of canvas must be restored before method returns.
+ * </p>
+ */
+
+public interface DotRenderer {
+
+    /**
+     * Draws dot that is not selected
+     *
+     * @param canvas  target canvas
+     * @param centerX x coordinate of dot's center
+     * @param centerY y coordinate of dot's center
+     * @param radius  radius of dot
+     * @param paint   paint with color of inactive dots
+     */
+    void drawInactiveDot(@NonNull Canvas canvas, float centerX, float centerY, float radius, @NonNull Paint paint);
+
+    /**
+     * Draws selected dot when dots are not glued
+     *
+     * @param canvas  target canvas
+     * @param centerX x coordinate of dot's center
+     * @param centerY y coordinate of dot's center
+     * @param radius  radius of dot
+     * @param paint   paint with color of active dot
+     */
+    void drawActiveDot(@NonNull Canvas canvas, float centerX, float centerY, float radius, @NonNull Paint paint);
+
+    /**
+     * Draws glue that connects selected dot with its sibling. Inactive sibling moving towards the glue
+     * is drawn by {@link #drawInactiveDot(Canvas, float, float, float, Paint)} before this call.
+     *
+     * @param canvas      target canvas
+     * @param left        x coordinate of left edge of glue
+     * @param right       x coordinate of right edge of glue
+     * @param centerY     y coordinate of glue's center
+     * @param radius      radius of dot, it is also half of glue's height
+     * @param ratio       glue ratio, 1 means that two neighbouring dots are fully connected
+     * @param leftToRight true if glue grows from selected dot on the left side to the right
+     * @param paint       paint with color of active dot
+     */
+    void drawGlue(@NonNull Canvas canvas, float left, float right, float centerY, float radius, float ratio, boolean leftToRight, @NonNull Paint paint);
+}
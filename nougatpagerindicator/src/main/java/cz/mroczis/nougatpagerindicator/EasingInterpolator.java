@@ -0,0 +1,24 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.animation.TimeInterpolator;
+
+import cz.mroczis.nougatpagerindicator.core.EasingCurve;
+import cz.mroczis.nougatpagerindicator.core.EasingTable;
+
+/**
+ * Interpolator backed by {@link EasingTable}, each frame of animation costs one table lookup
+ */
+
+class EasingInterpolator implements TimeInterpolator {
+
+    private final EasingTable mTable;
+
+    EasingInterpolator(EasingCurve curve) {
+        mTable = EasingTable.bake(curve);
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        return mTable.getValue(input);
+    }
+}
@@ -0,0 +1,20 @@
+package cz.mroczis.nougatpagerindicator;
+
+/**
+ * Type of transition which animates glue between dots in {@link PagerIndicator}
+ */
+
+enum GlueAnimation {
+    /**
+     * Two neighbouring dots are being connected while user scrolls
+     */
+    CONNECT,
+    /**
+     * Connected dots are being disconnected
+     */
+    DISCONNECT,
+    /**
+     * Selected dot jumps to another one, dots are disconnected afterwards
+     */
+    JUMP;
+}
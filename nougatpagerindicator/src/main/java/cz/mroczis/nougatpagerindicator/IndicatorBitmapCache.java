@@ -0,0 +1,164 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.Px;
+import android.util.LruCache;
+
+/**
+ * Bounded LRU cache of indicators rendered by {@link IndicatorBitmapRenderer}. Bitmaps are keyed by
+ * count of dots, selected dot and style, so repeated states (e.g. widget updates) reuse already drawn pixels.
+ * <p>
+ * Returned bitmaps are shared - they must not be modified nor recycled by caller.
+ * Cache is thread safe.
+ * </p>
+ */
+
+public class IndicatorBitmapCache {
+
+    /**
+     * Maximal width of bitmap when caller does not limit it, wider textures are not guaranteed by OpenGL ES 2.0
+     */
+    public static final int DEFAULT_MAX_WIDTH = 2048;
+
+    private final LruCache<Key, Bitmap> mCache;
+    private final IndicatorBitmapRenderer mRenderer;
+
+    /**
+     * Key reused for lookups, so cache hit does not allocate
+     */
+    private final Key mLookupKey = new Key();
+
+    /**
+     * @param maxSizeBytes maximal size of all cached bitmaps in bytes
+     */
+    public IndicatorBitmapCache(int maxSizeBytes) {
+        this(maxSizeBytes, null);
+    }
+
+    /**
+     * @param maxSizeBytes maximal size of all cached bitmaps in bytes
+     * @param renderer     renderer of dots or null to use default {@link NougatDotRenderer}
+     */
+    public IndicatorBitmapCache(int maxSizeBytes, @Nullable DotRenderer renderer) {
+        if (maxSizeBytes <= 0) {
+            throw new IllegalArgumentException("Size of cache must be positive");
+        }
+
+        mRenderer = new IndicatorBitmapRenderer(renderer);
+        mCache = new LruCache<Key, Bitmap>(maxSizeBytes) {
+            @Override
+            protected int sizeOf(Key key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * Returns bitmap of still indicator at most {@link #DEFAULT_MAX_WIDTH} pixels wide,
+     * see {@link #get(int, int, IndicatorStyle, int)}
+     *
+     * @param dotsCount   count of dots, must be positive
+     * @param currentItem position of selected dot
+     * @param style       look of dots
+     * @return shared bitmap which must not be modified
+     */
+    @NonNull
+    public Bitmap get(int dotsCount, int currentItem, @NonNull IndicatorStyle style) {
+        return get(dotsCount, currentItem, style, DEFAULT_MAX_WIDTH);
+    }
+
+    /**
+     * Returns bitmap of still indicator, it is drawn only when it is not cached yet.
+     * Bitmap fits all dots, see {@link IndicatorBitmapRenderer#measureWidth(int, IndicatorStyle)}, unless they are
+     * wider than maxWidth. Then only part with selected dot is drawn.
+     *
+     * @param dotsCount   count of dots, must be positive
+     * @param currentItem position of selected dot
+     * @param style       look of dots
+     * @param maxWidth    maximal width of bitmap, e.g. width of view which shows it
+     * @return shared bitmap which must not be modified
+     */
+    @NonNull
+    public synchronized Bitmap get(int dotsCount, int currentItem, @NonNull IndicatorStyle style, @Px int maxWidth) {
+        if (dotsCount <= 0) {
+            throw new IllegalArgumentException("Count of dots must be positive");
+        } else if (maxWidth <= 0) {
+            throw new IllegalArgumentException("Maximal width must be positive, provided argument is " + maxWidth);
+        }
+
+        int width = Math.min(IndicatorBitmapRenderer.measureWidth(dotsCount, style), maxWidth);
+        int height = Math.max(1, IndicatorBitmapRenderer.measureHeight(style));
+
+        if (width <= 0) {
+            throw new IllegalArgumentException("Dots of style have no width, radius or spacing must be positive");
+        } else if ((long) width * height * 4 > mCache.maxSize()) {
+            throw new IllegalArgumentException("Bitmap " + width + "x" + height + " px does not fit into cache of " + mCache.maxSize() + " bytes");
+        }
+
+        mLookupKey.set(dotsCount, currentItem, style, width);
+        Bitmap bitmap = mCache.get(mLookupKey);
+
+        // Lookup key must not keep style of caller reachable
+        mLookupKey.set(0, 0, null, 0);
+
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mRenderer.render(bitmap, dotsCount, currentItem, style);
+
+            Key key = new Key();
+            key.set(dotsCount, currentItem, style, width);
+            mCache.put(key, bitmap);
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Removes all bitmaps from cache, they are not recycled because they may still be in use
+     */
+    public synchronized void evictAll() {
+        mCache.evictAll();
+    }
+
+    /**
+     * Key of one cached bitmap
+     */
+    private static final class Key {
+
+        private int mDotsCount;
+        private int mCurrentItem;
+        private IndicatorStyle mStyle;
+        private int mWidth;
+
+        void set(int dotsCount, int currentItem, IndicatorStyle style, int width) {
+            mDotsCount = dotsCount;
+            mCurrentItem = currentItem;
+            mStyle = style;
+            mWidth = width;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return mDotsCount == that.mDotsCount && mCurrentItem == that.mCurrentItem && mWidth == that.mWidth && mStyle.equals(that.mStyle);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mDotsCount;
+            result = 31 * result + mCurrentItem;
+            result = 31 * result + mStyle.hashCode();
+            result = 31 * result + mWidth;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.Px;
+
+import cz.mroczis.nougatpagerindicator.core.DotCanvas;
+import cz.mroczis.nougatpagerindicator.core.DotLayout;
+import cz.mroczis.nougatpagerindicator.core.DotPainter;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+
+/**
+ * Draws still indicator into {@link Canvas} or {@link Bitmap} without {@link PagerIndicator} view.
+ * It is useful for widgets, notifications or thumbnails where no view can exist.
+ * Dots look the same as in view, they are drawn by the same {@link DotPainter} and {@link DotRenderer}.
+ * <p>
+ * Instances are not thread safe, use one renderer per thread.
+ * </p>
+ */
+
+public class IndicatorBitmapRenderer {
+
+    private final DotLayout mLayout = new DotLayout();
+    private final IndicatorState mState = new IndicatorState();
+    private final DotPainter mPainter = new DotPainter(mLayout);
+    private final RendererCanvas mCanvasAdapter = new RendererCanvas();
+
+    private final Paint mPaintActive;
+    private final Paint mPaintInactive;
+
+    /**
+     * Draws shapes of dots
+     */
+    private DotRenderer mRenderer;
+
+    public IndicatorBitmapRenderer() {
+        this(null);
+    }
+
+    /**
+     * @param renderer renderer of dots or null to use default {@link NougatDotRenderer}
+     */
+    public IndicatorBitmapRenderer(@Nullable DotRenderer renderer) {
+        mRenderer = renderer != null ? renderer : new NougatDotRenderer();
+
+        mPaintActive = new Paint();
+        mPaintActive.setAntiAlias(true);
+
+        mPaintInactive = new Paint();
+        mPaintInactive.setAntiAlias(true);
+    }
+
+    /**
+     * @return renderer which draws shapes of dots
+     */
+    @NonNull
+    public DotRenderer getDotRenderer() {
+        return mRenderer;
+    }
+
+    /**
+     * Width of bitmap that fits all dots
+     *
+     * @param dotsCount count of dots
+     * @param style     look of dots
+     * @return width in pixels
+     */
+    @Px
+    public static int measureWidth(int dotsCount, @NonNull IndicatorStyle style) {
+        long width = (long) dotsCount * 2 * style.getDotRadius() + (long) (dotsCount - 1) * style.getSpaceBetweenDots();
+        return (int) Math.max(0, Math.min(width, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Height of bitmap that fits all dots
+     *
+     * @param style look of dots
+     * @return height in pixels
+     */
+    @Px
+    public static int measureHeight(@NonNull IndicatorStyle style) {
+        return 2 * style.getDotRadius();
+    }
+
+    /**
+     * Clears given bitmap and draws indicator into it. Dots are centered, when they do not fit
+     * the bitmap only part with selected dot is drawn - the same way as {@link PagerIndicator} does it.
+     *
+     * @param bitmap      mutable target bitmap
+     * @param dotsCount   count of dots
+     * @param currentItem position of selected dot
+     * @param style       look of dots
+     */
+    public void render(@NonNull Bitmap bitmap, int dotsCount, int currentItem, @NonNull IndicatorStyle style) {
+        if (!bitmap.isMutable()) {
+            throw new IllegalArgumentException("Bitmap must be mutable");
+        }
+
+        bitmap.eraseColor(Color.TRANSPARENT);
+        draw(new Canvas(bitmap), bitmap.getWidth(), bitmap.getHeight(), dotsCount, currentItem, style);
+    }
+
+    /**
+     * Draws indicator into area of given canvas that starts at [0, 0]
+     *
+     * @param canvas      target canvas
+     * @param width       width of area
+     * @param height      height of area, dots are vertically centered
+     * @param dotsCount   count of dots
+     * @param currentItem position of selected dot
+     * @param style       look of dots
+     */
+    public void draw(@NonNull Canvas canvas, @Px int width, @Px int height, int dotsCount, int currentItem, @NonNull IndicatorStyle style) {
+        if (dotsCount < 0) {
+            throw new IllegalArgumentException("Count of dots must not be negative");
+        }
+        if (dotsCount > 0 && (currentItem < 0 || currentItem >= dotsCount)) {
+            throw new IllegalArgumentException("Current item must be in range [0, " + (dotsCount - 1) + "]");
+        }
+
+        mLayout.setDotRadius(style.getDotRadius());
+        mLayout.setSpaceBetweenDots(style.getSpaceBetweenDots());
+        mLayout.setDotsCount(dotsCount);
+        mLayout.setWidth(width);
+
+        mPaintActive.setColor(style.getActiveColor());
+        mPaintInactive.setColor(style.getInactiveColor());
+
+        mState.setCurrentItem(currentItem);
+        mState.setGlueRatio(0F);
+
+        // Window of visible dots depends on previous position, starting from the first dot makes result independent of history
+        mLayout.updateScrollOffset(0);
+        mLayout.updateScrollOffset(currentItem);
+
+        mCanvasAdapter.mCanvas = canvas;
+        mCanvasAdapter.mCenterY = height / 2F;
+        mPainter.paint(mState, 0, width, mCanvasAdapter);
+        mCanvasAdapter.mCanvas = null;
+    }
+
+    /**
+     * Passes dots walked by {@link DotPainter} to {@link #mRenderer}
+     */
+    private class RendererCanvas implements DotCanvas {
+
+        private Canvas mCanvas;
+        private float mCenterY;
+
+        @Override
+        public void drawInactiveDot(int position, float centerX, float radius) {
+            mRenderer.drawInactiveDot(mCanvas, centerX, mCenterY, radius, mPaintInactive);
+        }
+
+        @Override
+        public void drawActiveDot(float centerX, float radius) {
+            mRenderer.drawActiveDot(mCanvas, centerX, mCenterY, radius, mPaintActive);
+        }
+
+        @Override
+        public void drawGlue(float left, float right, float radius, float sibling, float siblingRadius, float ratio, boolean leftToRight) {
+            // Still indicator has no glue
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cz.mroczis.nougatpagerindicator;
+
+/**
+ * Receives runtime metrics of {@link PagerIndicator}, install it by calling
+ * {@link PagerIndicator#setMetricsListener(IndicatorMetricsListener)}.
+ * <p>
+ * All methods are called on UI thread, right from drawing or scrolling code, so implementation
+ * should just store values and send them elsewhere later. When no listener is installed no metrics are collected.
+ * </p>
+ */
+
+public interface IndicatorMetricsListener {
+
+    /**
+     * Called after each frame drawn by indicator
+     *
+     * @param durationNanos duration of {@link PagerIndicator#onDraw(android.graphics.Canvas)} in nanoseconds
+     * @param drawCalls     count of draw calls issued to canvas
+     */
+    void onFrameDrawn(long durationNanos, int drawCalls);
+
+    /**
+     * Called at most once per second while indicator requests redraws
+     *
+     * @param invalidatesPerSecond average count of redraw requests per second since previous call
+     */
+    void onInvalidateRate(int invalidatesPerSecond);
+
+    /**
+     * Called when an animation of indicator starts or ends
+     *
+     * @param liveAnimators count of animations running now
+     */
+    void onLiveAnimatorsChanged(int liveAnimators);
+
+    /**
+     * Called when user scrolled so fast that glued dots were moved immediately without animation
+     *
+     * @param steps count of dots glue moved by
+     */
+    void onCatchUpStep(int steps);
+}
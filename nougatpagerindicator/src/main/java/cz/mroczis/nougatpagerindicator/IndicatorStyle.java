@@ -0,0 +1,136 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.content.Context;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.annotation.Px;
+import android.support.v4.content.ContextCompat;
+
+/**
+ * Immutable look of indicator - colors of dots, their radius and spacing.
+ * Styles are compared by value, so they can be used as keys of caches.
+ * One style can be shared by many indicators, see {@link PagerIndicator#PagerIndicator(android.content.Context, IndicatorStyle)}.
+ * Create them using {@link Builder}.
+ */
+
+public final class IndicatorStyle {
+
+    @ColorInt
+    private final int mActiveColor;
+    @ColorInt
+    private final int mInactiveColor;
+    @Px
+    private final int mDotRadius;
+    @Px
+    private final int mSpaceBetweenDots;
+
+    private IndicatorStyle(Builder builder) {
+        mActiveColor = builder.mActiveColor;
+        mInactiveColor = builder.mInactiveColor;
+        mDotRadius = builder.mDotRadius;
+        mSpaceBetweenDots = builder.mSpaceBetweenDots;
+    }
+
+    @ColorInt
+    public int getActiveColor() {
+        return mActiveColor;
+    }
+
+    @ColorInt
+    public int getInactiveColor() {
+        return mInactiveColor;
+    }
+
+    @Px
+    public int getDotRadius() {
+        return mDotRadius;
+    }
+
+    @Px
+    public int getSpaceBetweenDots() {
+        return mSpaceBetweenDots;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        IndicatorStyle that = (IndicatorStyle) o;
+        return mActiveColor == that.mActiveColor && mInactiveColor == that.mInactiveColor
+                && mDotRadius == that.mDotRadius && mSpaceBetweenDots == that.mSpaceBetweenDots;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mActiveColor;
+        result = 31 * result + mInactiveColor;
+        result = 31 * result + mDotRadius;
+        result = 31 * result + mSpaceBetweenDots;
+        return result;
+    }
+
+    /**
+     * Builds {@link IndicatorStyle}, values which are not set are taken from library's resources
+     */
+    public static final class Builder {
+
+        private int mActiveColor;
+        private int mInactiveColor;
+        private int mDotRadius;
+        private int mSpaceBetweenDots;
+
+        /**
+         * Creates builder with default look of indicator
+         *
+         * @param context context used to resolve default values
+         */
+        public Builder(@NonNull Context context) {
+            mActiveColor = ContextCompat.getColor(context, R.color.pi_default_pager_active);
+            mInactiveColor = ContextCompat.getColor(context, R.color.pi_default_pager_inactive);
+            mDotRadius = context.getResources().getDimensionPixelSize(R.dimen.pi_dot_radius);
+            mSpaceBetweenDots = context.getResources().getDimensionPixelSize(R.dimen.pi_dot_spacing);
+        }
+
+        /**
+         * Creates builder with values copied from given style
+         *
+         * @param style style to copy
+         */
+        public Builder(@NonNull IndicatorStyle style) {
+            mActiveColor = style.mActiveColor;
+            mInactiveColor = style.mInactiveColor;
+            mDotRadius = style.mDotRadius;
+            mSpaceBetweenDots = style.mSpaceBetweenDots;
+        }
+
+        public Builder setActiveColor(@ColorInt int activeColor) {
+            mActiveColor = activeColor;
+            return this;
+        }
+
+        public Builder setInactiveColor(@ColorInt int inactiveColor) {
+            mInactiveColor = inactiveColor;
+            return this;
+        }
+
+        public Builder setDotRadius(@Px int dotRadius) {
+            mDotRadius = dotRadius;
+            return this;
+        }
+
+        public Builder setSpaceBetweenDots(@Px int spaceBetweenDots) {
+            mSpaceBetweenDots = spaceBetweenDots;
+            return this;
+        }
+
+        @NonNull
+        public IndicatorStyle build() {
+            return new IndicatorStyle(this);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+import java.lang.reflect.Method;
+
+/**
+ * Optional trace sections and counters of {@link PagerIndicator} visible in Systrace and Perfetto.
+ * Nothing is emitted until tracing is enabled by {@link PagerIndicator#setTraceEnabled(boolean)}.
+ * <p>
+ * Sections need Jelly Bean MR2, counters need Android 10 where {@code Trace#setCounter} was made public.
+ * It is newer than compile SDK of this library, so it is looked up by reflection once.
+ * </p>
+ */
+
+final class IndicatorTrace {
+
+    static final String SECTION_DRAW = "PagerIndicator#onDraw";
+    static final String SECTION_MEASURE = "PagerIndicator#onMeasure";
+    static final String SECTION_SCROLL = "PagerIndicator#onPageScrolled";
+    static final String SECTION_CONNECT = "PagerIndicator#connectDots";
+    static final String SECTION_DISCONNECT = "PagerIndicator#disconnectDots";
+    static final String SECTION_ANIMATE = "PagerIndicator#animate";
+
+    /**
+     * Glue ratio multiplied by {@link #GLUE_RATIO_SCALE}, counters hold only integers
+     */
+    static final String COUNTER_GLUE_RATIO = "PagerIndicator.glueRatio_x100";
+    static final String COUNTER_CURRENT_ITEM = "PagerIndicator.currentItem";
+    static final String COUNTER_LIVE_ANIMATORS = "PagerIndicator.liveAnimators";
+
+    static final int GLUE_RATIO_SCALE = 100;
+
+    /**
+     * Android 10, first version with public {@code Trace#setCounter(String, long)}
+     */
+    private static final int COUNTER_SDK_INT = 29;
+
+    private static volatile boolean sEnabled;
+
+    /**
+     * {@code Trace#setCounter(String, long)}, null when it is not available or was not looked up yet
+     */
+    private static Method sSetCounter;
+    private static boolean sSetCounterResolved;
+
+    private IndicatorTrace() {
+    }
+
+    static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    static void beginSection(String name) {
+        if (sEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(name);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    static void endSection() {
+        if (sEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Sets value of counter, value is boxed so it is emitted only while tracing is enabled
+     *
+     * @param name  name of counter
+     * @param value new value
+     */
+    static void setCounter(String name, long value) {
+        if (!sEnabled || Build.VERSION.SDK_INT < COUNTER_SDK_INT) {
+            return;
+        }
+
+        Method setCounter = getSetCounter();
+        if (setCounter != null) {
+            try {
+                setCounter.invoke(null, name, value);
+            } catch (Exception e) {
+                // Tracing must never break indicator, counter is just not emitted
+            }
+        }
+    }
+
+    private static synchronized Method getSetCounter() {
+        if (!sSetCounterResolved) {
+            sSetCounterResolved = true;
+
+            try {
+                sSetCounter = Trace.class.getMethod("setCounter", String.class, long.class);
+            } catch (NoSuchMethodException e) {
+                sSetCounter = null;
+            }
+        }
+
+        return sSetCounter;
+    }
+}
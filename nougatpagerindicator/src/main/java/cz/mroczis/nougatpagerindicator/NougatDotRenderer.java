@@ -0,0 +1,35 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+
+/**
+ * Default {@link DotRenderer} - circles and glue looking exactly like pager indicator in Android Nougat
+ */
+
+public class NougatDotRenderer implements DotRenderer {
+
+    /**
+     * Reusable bounds of glue
+     */
+    private final RectF mGlueBounds = new RectF();
+
+    @Override
+    public void drawInactiveDot(@NonNull Canvas canvas, float centerX, float centerY, float radius, @NonNull Paint paint) {
+        canvas.drawCircle(centerX, centerY, radius, paint);
+    }
+
+    @Override
+    public void drawActiveDot(@NonNull Canvas canvas, float centerX, float centerY, float radius, @NonNull Paint paint) {
+        canvas.drawCircle(centerX, centerY, radius, paint);
+    }
+
+    @Override
+    public void drawGlue(@NonNull Canvas canvas, float left, float right, float centerY, float radius, float ratio, boolean leftToRight, @NonNull Paint paint) {
+        // Glue is drawn as one rounded rectangle - it equals to two active circles connected by rectangle
+        mGlueBounds.set(left, centerY - radius, right, centerY + radius);
+        canvas.drawRoundRect(mGlueBounds, radius, radius, paint);
+    }
+}
@@ -2,13 +2,17 @@ package cz.mroczis.nougatpagerindicator;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.ObjectAnimator;
+import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.database.DataSetObserver;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.os.Build;
 import android.support.annotation.ColorInt;
 import android.support.annotation.NonNull;
@@ -16,10 +20,24 @@ import android.support.annotation.Nullable;
 import android.support.annotation.Px;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewCompat;
 import android.support.v4.view.ViewPager;
 import android.util.AttributeSet;
+import android.view.Choreographer;
 import android.view.View;
-import android.view.animation.DecelerateInterpolator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cz.mroczis.nougatpagerindicator.core.DotCanvas;
+import cz.mroczis.nougatpagerindicator.core.DotLayout;
+import cz.mroczis.nougatpagerindicator.core.DotPainter;
+import cz.mroczis.nougatpagerindicator.core.DotStatusStore;
+import cz.mroczis.nougatpagerindicator.core.EasingCurve;
+import cz.mroczis.nougatpagerindicator.core.EasingCurves;
+import cz.mroczis.nougatpagerindicator.core.IndicatorState;
+import cz.mroczis.nougatpagerindicator.core.Spring;
 
 /**
  * Simple pager indicator that is exact copy of pager indicator used in Android Nougat.
@@ -37,6 +55,8 @@ import android.view.animation.DecelerateInterpolator;
  * <ul>
  * <li>{@link #setCurrentItem(int, boolean)} sets position of highlighted circle
  * </li>
+ * <li>{@link #setProgress(float)} moves highlighted circle continuously from any thread
+ * </li>
  * </ul>
  * </p>
  * Created by Michal Mroček on 29.06.17.
@@ -58,53 +78,104 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      */
     private static final int EDIT_MODE_DOTS_COUNT = 3;
 
+    /**
+     * Highest velocity in pages per second passed from pager to spring, faster flings would only overshoot
+     */
+    private static final float MAX_SPRING_VELOCITY = 20F;
+
+    /**
+     * Interpolators are baked tables which are immutable, so all indicators share them
+     */
+    private static final TimeInterpolator DECELERATE_INTERPOLATOR = new EasingInterpolator(EasingCurves.DECELERATE);
+    private static final TimeInterpolator ACCELERATE_DECELERATE_INTERPOLATOR = new EasingInterpolator(EasingCurves.ACCELERATE_DECELERATE);
+
 
     /**
-     * Total count of drawn dots
+     * Geometry of dots - count, radius, spacing and scroll of visible window
      * {@link #setDotsCount(int)}
      */
-    private int mDotsCount;
+    private final DotLayout mLayout = new DotLayout();
 
     /**
-     * Position of currently selected dot. It must be bigger or equal to 0 and lower than {@link #mDotsCount}
+     * Selected dot and glue between dots, it is changed while user scrolls
      */
-    private int mCurrentItem;
+    private final IndicatorState mState = new IndicatorState();
 
     /**
-     * Ratio in range of 0 to x. Where x - 1 indicated count of dots that are being overdrawn by rectangle.
-     * For example when this is 1, then two neighbouring dots are connected
+     * Reusable clip bounds of canvas, used to determine which dots are visible
      */
-    private float mGlueRatio = 0F;
+    private final Rect mClipBounds = new Rect();
 
     /**
-     * Position of dot that is on the left side of rectangle that glues 2 dots
+     * Default renderer, batched drawing of inactive dots is possible only with it
      */
-    private int mGluedDotLeft = 0;
+    private final NougatDotRenderer mDefaultRenderer = new NougatDotRenderer();
 
     /**
-     * Position of dot that is on the right side of rectangle that glues 2 dots
+     * Draws shapes of dots and glue
+     * {@link #setDotRenderer(DotRenderer)}
      */
-    private int mGluedDotRight = 0;
+    private DotRenderer mRenderer = mDefaultRenderer;
 
     /**
-     * Radius of each dot
+     * Walks visible dots and passes them to {@link #mCanvasAdapter}
      */
-    @Px
-    private int mDotRadius;
+    private final DotPainter mPainter = new DotPainter(mLayout);
 
     /**
-     * Space between two dots
+     * Draws dots walked by {@link #mPainter} into canvas of this view
      */
-    @Px
-    private int mSpaceBetweenDots;
+    private final CanvasAdapter mCanvasAdapter = new CanvasAdapter();
+
+    /**
+     * When true inactive dots are drawn just once into {@link #mStaticLayer} and each frame only
+     * copies it and draws dots that are being animated.
+     * {@link #setStaticLayerCacheEnabled(boolean)}
+     */
+    private boolean mStaticLayerEnabled;
+
+    /**
+     * Cached layer containing inactive dots of full size in layout coordinates, so it does not change when
+     * window of dots scrolls. Null when cache is disabled, view is detached or layer was not drawn yet
+     */
+    @Nullable
+    private Bitmap mStaticLayer;
+
+    /**
+     * Canvas which draws into {@link #mStaticLayer}
+     */
+    @Nullable
+    private Canvas mStaticLayerCanvas;
+
+    /**
+     * Values that were used to draw {@link #mStaticLayer}, when any of them changes the layer is redrawn
+     */
+    private int mStaticLayerDotsCount;
+    private int mStaticLayerDotRadius;
+    private int mStaticLayerSpaceBetweenDots;
+    private int mStaticLayerColor;
+    @Nullable
+    private DotRenderer mStaticLayerRenderer;
+
+    /**
+     * True when statuses of dots or their colors changed since {@link #mStaticLayer} was drawn
+     */
+    private boolean mStaticLayerStatusesChanged;
+
+    /**
+     * Positions of first and last dot drawn into {@link #mStaticLayer}, the first one is at its left edge
+     */
+    private int mStaticLayerFirst;
+    private int mStaticLayerLast = -1;
 
     /**
-     * Total minimal width of this view
+     * Reusable bounds for copying parts of {@link #mStaticLayer}
      */
-    private int mTotalWidth;
+    private final Rect mStaticLayerSrc = new Rect();
+    private final Rect mStaticLayerDst = new Rect();
 
     /**
-     * Paint for currently selected dot, {@link #mCurrentItem} indicates position of that dot
+     * Paint for currently selected dot, {@link IndicatorState#getCurrentItem()} indicates position of that dot
      */
     private Paint mPaintActive;
 
@@ -114,16 +185,16 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
     private Paint mPaintInactive;
 
     /**
-     * Internal state of pager.
-     * {@link PagerState#SCROLLING} - animation is now in progress
-     * {@link PagerState#STILL} - nothing is being animated now
+     * Status of each dot, dots with status are drawn by paint from {@link #mStatusPaints}
+     * {@link #setDotStatus(int, int, int)}
      */
-    private PagerState mPagerState;
+    private final DotStatusStore mStatuses = new DotStatusStore();
 
     /**
-     * Last value of scroll - it is sum of page + offset and is used to determine scroll direction
+     * Paints of inactive dots indexed by status, null items (and status 0) use {@link #mPaintInactive}
+     * {@link #setStatusColor(int, int)}
      */
-    private float mLastScrollValue;
+    private Paint[] mStatusPaints = new Paint[0];
 
     /**
      * ViewPager we are attached to, null when no pager is attached to this view
@@ -131,40 +202,271 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
     @Nullable
     private ViewPager mViewPager;
 
+    /**
+     * True when {@link #mViewPager} is not null, it is read by {@link #setProgress(float)} from any thread
+     */
+    private volatile boolean mViewPagerAttached;
+
+    /**
+     * True when this view listens to {@link #mViewPager}, listeners are registered only while view is attached
+     */
+    private boolean mPagerListenersRegistered;
+
+    /**
+     * Adapter of {@link #mViewPager} observed by {@link #mAdapterObserver}, null when nothing is observed
+     */
+    @Nullable
+    private PagerAdapter mObservedAdapter;
+
+    /**
+     * Schedules recount of dots when data of adapter change
+     */
+    private final DataSetObserver mAdapterObserver = new DataSetObserver() {
+        @Override
+        public void onChanged() {
+            scheduleRecount();
+        }
+
+        @Override
+        public void onInvalidated() {
+            scheduleRecount();
+        }
+    };
+
+    /**
+     * True when {@link #mRecountRunnable} is posted
+     */
+    private boolean mRecountScheduled;
+
+    /**
+     * Recounts dots once per frame no matter how many changes adapter reported during it
+     */
+    private final Runnable mRecountRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mRecountScheduled = false;
+            syncWithViewPager();
+        }
+    };
+
+    /**
+     * Interpolator of connecting and disconnecting of glue
+     * {@link #setGlueCurve(EasingCurve)}
+     */
+    private TimeInterpolator mGlueInterpolator = DECELERATE_INTERPOLATOR;
+
+    /**
+     * Interpolator of jump to another dot
+     * {@link #setJumpCurve(EasingCurve)}
+     */
+    private TimeInterpolator mJumpInterpolator = ACCELERATE_DECELERATE_INTERPOLATOR;
+
+    /**
+     * The only animator of glue ratio, it is reused by all transitions
+     */
+    private ValueAnimator mGlueAnimator;
+
+    /**
+     * Type of transition that {@link #mGlueAnimator} currently performs
+     */
+    private GlueAnimation mGlueAnimation = GlueAnimation.CONNECT;
+
+    /**
+     * Initial and final values of glue ratio for current transition
+     */
+    private float mGlueAnimationFrom;
+    private float mGlueAnimationTo;
+
+    /**
+     * Disconnects dots once {@link GlueAnimation#JUMP} ends
+     */
+    private final Runnable mDisconnectRunnable = new Runnable() {
+        @Override
+        public void run() {
+            disconnectDots();
+        }
+    };
+
+    /**
+     * When true inactive dots are collected during frame and drawn by one {@link Canvas#drawPoints(float[], int, int, Paint)} call
+     * {@link #setBatchedDrawingEnabled(boolean)}
+     */
+    private boolean mBatchedDrawingEnabled;
+
+    /**
+     * When true glue is animated by {@link #mSpringDriver} instead of {@link #mGlueAnimator}
+     * {@link #setSpringAnimationEnabled(boolean)}
+     */
+    private boolean mSpringEnabled;
+
+    /**
+     * Spring based animation engine, it is used only when {@link #mSpringEnabled} is true
+     */
+    private final SpringDriver mSpringDriver = new SpringDriver();
+
+    /**
+     * Velocity of pager in pages per second, derived from last two scroll callbacks of current gesture.
+     * It is zero until current gesture reports its second callback.
+     */
+    private float mScrollVelocity;
+
+    /**
+     * Time in nanoseconds of last scroll callback, zero when pager is settled
+     */
+    private long mLastScrollTime;
+
+    /**
+     * True when spring started connecting before current gesture reported its velocity,
+     * first measured velocity is then handed to the running spring
+     */
+    private boolean mVelocityHandoffPending;
+
+    /**
+     * Listener for runtime metrics, null when metrics are not collected
+     */
+    @Nullable
+    private IndicatorMetricsListener mMetricsListener;
+
+    /**
+     * Count of invalidations since {@link #mInvalidateWindowStart}
+     */
+    private int mInvalidateCount;
+
+    /**
+     * Time in nanoseconds when counting of invalidations started
+     */
+    private long mInvalidateWindowStart;
+
+    /**
+     * Count of draw calls issued in current frame
+     */
+    private int mDrawCalls;
+
+    /**
+     * Area that was invalidated since last frame, it is valid only when {@link #mRedrawPending} is true
+     */
+    private final Rect mDirtyBounds = new Rect();
+
+    /**
+     * True when redraw was requested and frame was not drawn yet
+     */
+    private boolean mRedrawPending;
+
+    /**
+     * Glued dots when glue was invalidated last time, area of old glue must be redrawn together with new one
+     */
+    private int mRedrawnGluedDotLeft;
+    private int mRedrawnGluedDotRight;
+
+    /**
+     * Latest progress passed to {@link #setProgress(float)} stored as bits of float, it may be written from any thread
+     */
+    private final AtomicInteger mPendingProgress = new AtomicInteger();
+
+    /**
+     * True when {@link #mPendingProgress} was not applied yet and {@link #mProgressRunnable} is posted
+     */
+    private final AtomicBoolean mProgressPending = new AtomicBoolean();
+
+    /**
+     * Applies latest progress in animation phase of frame, so its redraw is drawn by the same frame
+     */
+    private final Runnable mProgressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mProgressPending.getAndSet(false)) {
+                applyProgress(Float.intBitsToFloat(mPendingProgress.get()));
+            }
+        }
+    };
+
+    /**
+     * Interval of automatic advancing to next page in milliseconds, 0 when disabled
+     * {@link #setAutoAdvanceInterval(long)}
+     */
+    private long mAutoAdvanceInterval;
+
+    /**
+     * True when {@link #mAutoAdvanceRunnable} is posted
+     */
+    private boolean mAutoAdvanceScheduled;
+
+    /**
+     * True while user drags attached ViewPager, auto advance waits until user releases it
+     */
+    private boolean mPagerDragged;
+
+    /**
+     * Advances to next page and schedules next advance
+     */
+    private final Runnable mAutoAdvanceRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mAutoAdvanceScheduled = false;
+            advance();
+            updateAutoAdvance();
+        }
+    };
+
     public PagerIndicator(Context context) {
         super(context);
-        init(null);
+        init(null, null);
+    }
+
+    /**
+     * Creates indicator with given look. Attributes and resources are not resolved, so one style
+     * shared by many indicators (e.g. in rows of RecyclerView) makes their creation cheaper.
+     *
+     * @param context context of view
+     * @param style   look of indicator
+     */
+    public PagerIndicator(Context context, @NonNull IndicatorStyle style) {
+        super(context);
+        init(null, style);
     }
 
     public PagerIndicator(Context context, @Nullable AttributeSet attrs) {
         super(context, attrs);
-        init(attrs);
+        init(attrs, null);
     }
 
     public PagerIndicator(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        init(attrs);
+        init(attrs, null);
     }
 
     @TargetApi(Build.VERSION_CODES.LOLLIPOP)
     public PagerIndicator(Context context, @Nullable AttributeSet attrs, int defStyleAttr, int defStyleRes) {
         super(context, attrs, defStyleAttr, defStyleRes);
-        init(attrs);
+        init(attrs, null);
     }
 
     /**
-     * Initializes the view with standard parameters or attributes
+     * Initializes the view with given style or with standard parameters or attributes
      *
      * @param attrs attributes for view
+     * @param style look of view, when present attributes are ignored
      */
-    private void init(@Nullable AttributeSet attrs) {
-        mPagerState = PagerState.STILL;
+    private void init(@Nullable AttributeSet attrs, @Nullable IndicatorStyle style) {
+        GlueAnimatorListener listener = new GlueAnimatorListener();
+        mGlueAnimator = new ValueAnimator();
+        mGlueAnimator.setFloatValues(0F, 1F);
+        mGlueAnimator.addUpdateListener(listener);
+        mGlueAnimator.addListener(listener);
 
         mPaintActive = new Paint();
         mPaintActive.setAntiAlias(true);
 
         mPaintInactive = new Paint();
         mPaintInactive.setAntiAlias(true);
+        mPaintInactive.setStrokeCap(Paint.Cap.ROUND); // used only by batched drawing, circles are filled
+
+        if (style != null) {
+            applyStyle(style);
+            mLayout.setDotsCount(isInEditMode() ? EDIT_MODE_DOTS_COUNT : 0);
+            mState.setCurrentItem(0);
+            return;
+        }
 
         int defActiveColor = ContextCompat.getColor(getContext(), R.color.pi_default_pager_active);
         int defInactiveColor = ContextCompat.getColor(getContext(), R.color.pi_default_pager_inactive);
@@ -177,143 +479,326 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
             mPaintActive.setColor(array.getColor(R.styleable.PagerIndicator_npiActiveDotColor, defActiveColor));
             mPaintInactive.setColor(array.getColor(R.styleable.PagerIndicator_npiInactiveDotColor, defInactiveColor));
 
-            mDotRadius = array.getDimensionPixelSize(R.styleable.PagerIndicator_npiDotRadius, defDotRadius);
-            mSpaceBetweenDots = array.getDimensionPixelSize(R.styleable.PagerIndicator_npiDotSpacing, defSpaceBetweenDots);
+            mLayout.setDotRadius(array.getDimensionPixelSize(R.styleable.PagerIndicator_npiDotRadius, defDotRadius));
+            mLayout.setSpaceBetweenDots(array.getDimensionPixelSize(R.styleable.PagerIndicator_npiDotSpacing, defSpaceBetweenDots));
 
-            mDotsCount = array.getInt(R.styleable.PagerIndicator_npiDotsCount, isInEditMode() ? EDIT_MODE_DOTS_COUNT : 0);
-            mCurrentItem = array.getInt(R.styleable.PagerIndicator_npiActiveDot, 0);
+            mLayout.setDotsCount(array.getInt(R.styleable.PagerIndicator_npiDotsCount, isInEditMode() ? EDIT_MODE_DOTS_COUNT : 0));
+            mState.setCurrentItem(array.getInt(R.styleable.PagerIndicator_npiActiveDot, 0));
+            mLayout.setMaxVisibleDots(Math.max(0, array.getInt(R.styleable.PagerIndicator_npiMaxVisibleDots, 0)));
 
             array.recycle();
         } else {
             mPaintActive.setColor(defActiveColor);
             mPaintInactive.setColor(defInactiveColor);
 
-            mDotRadius = defDotRadius;
-            mSpaceBetweenDots = defSpaceBetweenDots;
+            mLayout.setDotRadius(defDotRadius);
+            mLayout.setSpaceBetweenDots(defSpaceBetweenDots);
+
+            mLayout.setDotsCount(isInEditMode() ? EDIT_MODE_DOTS_COUNT : 0);
+            mState.setCurrentItem(0);
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (mViewPager != null) {
+            // Pager might have changed while this view was detached
+            registerPagerListeners();
+            syncWithViewPager();
+        }
+
+        updateAutoAdvance();
 
-            mDotsCount = isInEditMode() ? EDIT_MODE_DOTS_COUNT : 0;
-            mCurrentItem = 0;
+        if (mProgressPending.get()) {
+            // Progress set before attach or while detached is applied in the first frame
+            ViewCompat.postOnAnimation(this, mProgressRunnable);
         }
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        // Nothing may keep running or keep this view reachable once it is detached
+        cancelAutoAdvance();
+        unregisterPagerListeners();
+        cancelGlueAnimations();
+        removeCallbacks(mProgressRunnable);
+
+        // Whole view is drawn when it is attached again
+        mRedrawPending = false;
+        releaseStaticLayer();
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateAutoAdvance();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateAutoAdvance();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        updateAutoAdvance();
+    }
+
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        calculateTotalWidth();
+        mLayout.setWidth(w);
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        calculateTotalWidth();
+        IndicatorTrace.beginSection(IndicatorTrace.SECTION_MEASURE);
         setMeasuredDimension(measureWidth(widthMeasureSpec), measureHeight(heightMeasureSpec));
+        IndicatorTrace.endSection();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        IndicatorTrace.beginSection(IndicatorTrace.SECTION_DRAW);
 
-        int startPosition = (getWidth() - mTotalWidth) / 2 + mDotRadius;
-        int centerY = getHeight() / 2;
+        long frameStart = mMetricsListener != null ? System.nanoTime() : 0L;
+        mDrawCalls = 0;
 
-        for (int i = 0; i < mDotsCount; ++i) {
-            if (mGlueRatio == 0 || (i != mGluedDotLeft && i != mGluedDotRight)) { // drawing only dots that are not being animated now
-                if (i == mCurrentItem && mGlueRatio == 0) {
-                    canvas.drawCircle(startPosition + getDotOffset(i), centerY, mDotRadius, mPaintActive);
-                } else if (i != mCurrentItem) {
-                    canvas.drawCircle(startPosition + getDotOffset(i), centerY, mDotRadius, mPaintInactive);
-                }
-            }
+        mLayout.updateScrollOffset(mState.getScrollPosition());
+        mCanvasAdapter.begin(canvas, getHeight() / 2);
+
+        int startPosition = mLayout.getStartPosition();
+        int dotRadius = mLayout.getDotRadius();
+        float glueRatio = mState.getGlueRatio();
+
+        // Only dots which intersect clip bounds are drawn, so one frame does not cost O(count of dots)
+        int firstVisible = 0;
+        int lastVisible = mLayout.getDotsCount() - 1;
+
+        if (canvas.getClipBounds(mClipBounds)) {
+            firstVisible = mLayout.getFirstVisible(mClipBounds.left);
+            lastVisible = mLayout.getLastVisible(mClipBounds.right);
         }
 
-        if (mGlueRatio > 0F) {
-            int offsetStart = getDotOffset(mGluedDotLeft);
-            int offsetEnd = getDotOffset(mGluedDotRight);
+        if (mStaticLayerEnabled && getWidth() > 0 && getHeight() > 0 && mLayout.getDotPitch() > 0) {
+            // Dots which are glued or selected are drawn over the layer, so parts of the layer containing them are skipped
+            int animatedLeft = glueRatio > 0F ? mState.getGluedDotLeft() : mState.getCurrentItem();
+            int animatedRight = glueRatio > 0F ? mState.getGluedDotRight() : mState.getCurrentItem();
 
-            float movementCorrection = getMovementRatio(getDecimalPart(mGlueRatio)) * mDotRadius;
-            float rectWidth = mGlueRatio * (mSpaceBetweenDots + 2 * mDotRadius); // total space between centers of both points
+            // Dots shrunk at edges of bounded window change their size while it scrolls, so they are never cached
+            // Cached range is limited to dots in this view and ranges left and right to it are painted directly
+            int cachedFirst = Math.min(Math.max(firstVisible, mLayout.getFirstVisible(0)), lastVisible + 1);
+            int cachedLast = Math.max(Math.min(lastVisible, mLayout.getLastVisible(getWidth())), cachedFirst - 1);
 
-            if (mCurrentItem == mGluedDotLeft) {
-                // scrolling from left to right
-                canvas.drawCircle((int) (startPosition + offsetEnd - movementCorrection), centerY, mDotRadius, mPaintInactive); // inactive dot - simulating movementCorrection
-                canvas.drawCircle(startPosition + offsetStart + rectWidth, centerY, mDotRadius, mPaintActive); // moving circle (right)
-                canvas.drawRect(startPosition + offsetStart, centerY - mDotRadius, startPosition + offsetStart + rectWidth, centerY + mDotRadius, mPaintActive); // glue rect
-                canvas.drawCircle(startPosition + offsetStart, centerY, mDotRadius, mPaintActive); // currently selected circle (left)
-            } else {
-                // scrolling from right to left
-                canvas.drawCircle((int) (startPosition + offsetStart + movementCorrection), centerY, mDotRadius, mPaintInactive); // inactive dot - simulating movementCorrection
-                canvas.drawCircle(startPosition + offsetEnd - rectWidth, centerY, mDotRadius, mPaintActive); // moving circle (left)
-                canvas.drawRect(startPosition + offsetEnd - rectWidth, centerY - mDotRadius, startPosition + offsetEnd, centerY + mDotRadius, mPaintActive); // glue rect
-                canvas.drawCircle(startPosition + offsetEnd, centerY, mDotRadius, mPaintActive); // currently selected circle (right)
+            while (cachedFirst <= cachedLast && mLayout.getDotScale(cachedFirst) < 1F) {
+                cachedFirst++;
+            }
+
+            while (cachedLast >= cachedFirst && mLayout.getDotScale(cachedLast) < 1F) {
+                cachedLast--;
             }
+
+            drawStaticLayer(canvas, cachedFirst, cachedLast, startPosition + mLayout.getDotOffset(animatedLeft) - dotRadius,
+                    startPosition + mLayout.getDotOffset(animatedRight) + dotRadius);
+
+            mPainter.paintDots(mState, firstVisible, cachedFirst - 1, mCanvasAdapter);
+            mPainter.paintDots(mState, Math.max(cachedFirst, animatedLeft), Math.min(cachedLast, animatedRight), mCanvasAdapter);
+            mPainter.paintDots(mState, cachedLast + 1, lastVisible, mCanvasAdapter);
+        } else {
+            mPainter.paintDots(mState, firstVisible, lastVisible, mCanvasAdapter);
+        }
+
+        mPainter.paintGlue(mState, mCanvasAdapter);
+        mCanvasAdapter.end();
+
+        mRedrawPending = false;
+
+        if (mMetricsListener != null) {
+            mMetricsListener.onFrameDrawn(System.nanoTime() - frameStart, mDrawCalls);
+        }
+
+        IndicatorTrace.setCounter(IndicatorTrace.COUNTER_CURRENT_ITEM, mState.getCurrentItem());
+        IndicatorTrace.endSection();
+    }
+
+    /**
+     * Copies dots in range from first to last (both including) from cached layer into canvas except area
+     * between skipStart and skipEnd. Layer is translated by scroll of dots, so it is redrawn only when count, size,
+     * spacing or color of dots changed or when the window scrolled out of dots which are in the layer
+     *
+     * @param canvas    target canvas
+     * @param first     position of first copied dot
+     * @param last      position of last copied dot
+     * @param skipStart x coordinate where skipped area starts
+     * @param skipEnd   x coordinate where skipped area ends
+     */
+    private void drawStaticLayer(Canvas canvas, int first, int last, int skipStart, int skipEnd) {
+        if (last < first) {
+            return;
+        }
+
+        int pitch = mLayout.getDotPitch();
+        int height = getHeight();
+
+        // Layer holds twice as many dots as fit into view, so it is redrawn once per about half of view's width of scroll
+        int capacity = 2 * (getWidth() / pitch + 2);
+
+        if (mStaticLayer == null || mStaticLayer.getWidth() != capacity * pitch || mStaticLayer.getHeight() != height) {
+            releaseStaticLayer();
+            mStaticLayer = Bitmap.createBitmap(capacity * pitch, height, Bitmap.Config.ARGB_8888);
+            mStaticLayerCanvas = new Canvas(mStaticLayer);
+            redrawStaticLayer(first, last, capacity);
+        } else if (mStaticLayerRenderer != mRenderer || mStaticLayerDotsCount != mLayout.getDotsCount() || mStaticLayerDotRadius != mLayout.getDotRadius()
+                || mStaticLayerSpaceBetweenDots != mLayout.getSpaceBetweenDots() || mStaticLayerColor != mPaintInactive.getColor()
+                || mStaticLayerStatusesChanged || first < mStaticLayerFirst || last > mStaticLayerLast) {
+            redrawStaticLayer(first, last, capacity);
+        }
+
+        // Left edge of the layer in coordinates of this view, each dot owns one pitch wide cell of it
+        int layerLeft = mLayout.getStartPosition() + mLayout.getDotOffset(mStaticLayerFirst) - mLayout.getDotRadius() - mLayout.getSpaceBetweenDots() / 2;
+        int left = layerLeft + (first - mStaticLayerFirst) * pitch;
+        int right = layerLeft + (last - mStaticLayerFirst + 1) * pitch;
+
+        skipStart = Math.max(left, Math.min(skipStart, right));
+        skipEnd = Math.max(skipStart, Math.min(skipEnd, right));
+
+        if (skipStart > left) {
+            copyStaticLayer(canvas, layerLeft, left, skipStart, height);
         }
 
+        if (skipEnd < right) {
+            copyStaticLayer(canvas, layerLeft, skipEnd, right, height);
+        }
     }
 
     /**
-     * Returns decimal part of number
-     * Example: input 3.1231523, output 0.1231523
+     * Copies part of {@link #mStaticLayer} translated by layerLeft into canvas
      *
-     * @param val some float number
-     * @return just decimal part of given number
+     * @param canvas    target canvas
+     * @param layerLeft x coordinate of left edge of the layer in canvas
+     * @param left      x coordinate in canvas where copied area starts
+     * @param right     x coordinate in canvas where copied area ends
+     * @param height    height of copied area
      */
-    private float getDecimalPart(float val) {
-        return val - (int) val;
+    private void copyStaticLayer(Canvas canvas, int layerLeft, int left, int right, int height) {
+        mStaticLayerSrc.set(left - layerLeft, 0, right - layerLeft, height);
+        mStaticLayerDst.set(left, 0, right, height);
+        canvas.drawBitmap(mStaticLayer, mStaticLayerSrc, mStaticLayerDst, null);
+        mDrawCalls++;
     }
 
     /**
-     * Calculates number in range of <0;1> which helps us determine position of sibling
-     * dot while animating. This is used to achieve effect that another dot is getting closer
-     * to another one.
+     * Draws inactive dots of full size around range from first to last (both including) into {@link #mStaticLayer}
      *
-     * @param val input float number
-     * @return ratio
+     * @param first    position of first dot which must be drawn
+     * @param last     position of last dot which must be drawn
+     * @param capacity count of dots which fit into the layer
      */
-    private float getMovementRatio(float val) {
-        return (float) Math.min(1, Math.pow(val, 2) + 0.075F);
+    private void redrawStaticLayer(int first, int last, int capacity) {
+        if (mStaticLayer == null || mStaticLayerCanvas == null) {
+            return;
+        }
+
+        mStaticLayer.eraseColor(Color.TRANSPARENT);
+
+        // Spare room is split between both sides, so the window can scroll either way before the layer is redrawn
+        mStaticLayerLast = Math.min(mLayout.getDotsCount() - 1, last + (capacity - (last - first + 1)) / 2);
+        mStaticLayerFirst = Math.max(0, mStaticLayerLast - capacity + 1);
+        mStaticLayerLast = Math.min(mLayout.getDotsCount() - 1, mStaticLayerFirst + capacity - 1);
+
+        int pitch = mLayout.getDotPitch();
+        int firstCenter = mLayout.getDotRadius() + mLayout.getSpaceBetweenDots() / 2;
+        int centerY = getHeight() / 2;
+
+        for (int i = mStaticLayerFirst; i <= mStaticLayerLast; ++i) {
+            mRenderer.drawInactiveDot(mStaticLayerCanvas, firstCenter + (i - mStaticLayerFirst) * pitch, centerY, mLayout.getDotRadius(),
+                    getStatusPaint(mStatuses.get(i)));
+        }
+
+        mStaticLayerDotsCount = mLayout.getDotsCount();
+        mStaticLayerDotRadius = mLayout.getDotRadius();
+        mStaticLayerSpaceBetweenDots = mLayout.getSpaceBetweenDots();
+        mStaticLayerColor = mPaintInactive.getColor();
+        mStaticLayerRenderer = mRenderer;
+        mStaticLayerStatusesChanged = false;
     }
 
     /**
-     * Calculates actual width of all elements that will be drawn
+     * Releases memory allocated by cached layer
      */
-    private void calculateTotalWidth() {
-        if (mDotsCount > 0) {
-            mTotalWidth = mDotsCount * mDotRadius * 2 + (mDotsCount - 1) * mSpaceBetweenDots;
-        } else {
-            mTotalWidth = 0;
+    private void releaseStaticLayer() {
+        if (mStaticLayer != null) {
+            mStaticLayer.recycle();
+            mStaticLayer = null;
+            mStaticLayerCanvas = null;
+            mStaticLayerLast = -1;
         }
     }
 
     @Override
     public void onPageScrolled(int position, float offset, int positionOffsetPixels) {
-        if (mPagerState == PagerState.STILL && offset != 0F) {
-            // not animating or glue rectangle is not shown and offset is not zero --> show it
-            connectDots(position, position + 1);
-        } else if (mPagerState != PagerState.STILL && offset == 0F) {
-            // glue rectangle is shown and offset is now zero --> hide it
+        IndicatorTrace.beginSection(IndicatorTrace.SECTION_SCROLL);
+
+        if (mSpringEnabled) {
+            long now = System.nanoTime();
+            float previousScrollValue = mState.getLastScrollValue();
+
+            if (mLastScrollTime != 0L && now > mLastScrollTime) {
+                mScrollVelocity = (position + offset - previousScrollValue) * TimeUnit.SECONDS.toNanos(1) / (now - mLastScrollTime);
+
+                if (mVelocityHandoffPending) {
+                    mVelocityHandoffPending = false;
+                    if (mGlueAnimation == GlueAnimation.CONNECT) {
+                        mSpringDriver.setVelocity(Math.min(Math.abs(mScrollVelocity), MAX_SPRING_VELOCITY));
+                    }
+                }
+            }
+
+            if (offset == 0F) {
+                // Pager settled, next gesture measures its own velocity
+                resetScrollVelocity();
+            } else {
+                mLastScrollTime = now;
+            }
+        }
+
+        int previousItem = mState.getCurrentItem();
+        int actions = mState.onPageScrolled(position, offset);
+
+        if ((actions & IndicatorState.ACTION_CONNECT) != 0) {
+            connectDots();
+        } else if ((actions & IndicatorState.ACTION_DISCONNECT) != 0) {
             disconnectDots();
         }
 
-        if (offset == 0F) {
-            mCurrentItem = position;
+        if ((actions & IndicatorState.ACTION_INVALIDATE) != 0) {
+            requestRedrawGlue();
+
+            // Selected dot may jump without glue, e.g. when pager is set to distant page without smooth scroll
+            int currentItem = mState.getCurrentItem();
+            if (previousItem != currentItem) {
+                requestRedrawDots(previousItem, previousItem);
+                requestRedrawDots(currentItem, currentItem);
+            }
         }
 
-        boolean scrollingLeft = mLastScrollValue > (position + offset);
-        mLastScrollValue = position + offset;
+        if (mLayout.updateScrollOffset(mState.getScrollPosition())) {
+            // Window of dots slides together with pager
+            requestRedraw();
+        }
 
-        // When user scrolls very quickly it is not possible perform animations in that short period of time
-        // Instead rectangle gluing two dots is moved immediately
-        // This block is executed when page has changed during scroll but offset with "0F" was not called
-        if (scrollingLeft && mGluedDotLeft != position && mPagerState == PagerState.SCROLLING && offset != 0F) {
-            mGluedDotRight--;
-            mGluedDotLeft--;
-            mCurrentItem--;
-            invalidate();
-        } else if (!scrollingLeft && mGluedDotRight != position + 1 && mPagerState == PagerState.SCROLLING && offset != 0F) {
-            mGluedDotLeft++;
-            mGluedDotRight++;
-            mCurrentItem++;
-            invalidate();
+        if ((actions & IndicatorState.ACTION_CATCH_UP) != 0 && mMetricsListener != null) {
+            mMetricsListener.onCatchUpStep(mState.getCatchUpSteps());
         }
+
+        IndicatorTrace.endSection();
     }
 
     @Override
@@ -323,22 +808,24 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
 
     @Override
     public void onPageScrollStateChanged(int state) {
-        // ignored
+        boolean dragged = state == ViewPager.SCROLL_STATE_DRAGGING;
+
+        if (mPagerDragged != dragged) {
+            mPagerDragged = dragged;
+
+            // Countdown starts again once user releases pager, so auto advance does not interrupt the user
+            cancelAutoAdvance();
+            updateAutoAdvance();
+        }
     }
 
     @Override
     public void onAdapterChanged(@NonNull ViewPager viewPager, @Nullable PagerAdapter oldAdapter, @Nullable PagerAdapter newAdapter) {
-        if (newAdapter != null) {
-            // New adapter might have different count of fragments...
-            mDotsCount = newAdapter.getCount();
-            mCurrentItem = viewPager.getCurrentItem();
-            invalidate();
-        } else {
-            // Adapter was removed, so no dots will be drawn
-            mDotsCount = 0;
-            mCurrentItem = 0;
-            invalidate();
-        }
+        observeAdapter(newAdapter);
+
+        // New adapter might have different count of fragments, when it was removed no dots will be drawn
+        cancelRecount();
+        syncWithViewPager();
     }
 
 
@@ -348,37 +835,19 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      *
      */
     private void disconnectDots() {
-        mPagerState = PagerState.SCROLLING;
-
-        int difference = (int) Math.max(Math.abs(mGluedDotLeft - mGluedDotRight), mGlueRatio);
-        ValueAnimator animator = ObjectAnimator.ofFloat(this, "glueRatio", difference, 0F);
-        animator.setDuration(ANIMATION_DURATION);
-        animator.setInterpolator(new DecelerateInterpolator());
-        animator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mPagerState = PagerState.STILL;
-            }
-        });
-        animator.start();
+        IndicatorTrace.beginSection(IndicatorTrace.SECTION_DISCONNECT);
+        mState.disconnect();
+        startGlueAnimation(GlueAnimation.DISCONNECT, mState.getDisconnectRatio(), 0F, ANIMATION_DURATION, mGlueInterpolator);
+        IndicatorTrace.endSection();
     }
 
     /**
-     * Starts animation that will connect two dots passed in parameters.
-     *
-     * @param position          position of any dot
-     * @param siblingPosition   position of any dot
+     * Starts animation that connects dots which were glued by scrolling pager
      */
-    private void connectDots(final int position, final int siblingPosition) {
-        mPagerState = PagerState.SCROLLING;
-        mGluedDotLeft = Math.min(position, siblingPosition);
-        mGluedDotRight = Math.max(position, siblingPosition);
-
-        int difference = Math.abs(position - siblingPosition);
-        ValueAnimator animator = ObjectAnimator.ofFloat(this, "glueRatio", mGlueRatio, difference);
-        animator.setDuration(ANIMATION_DURATION);
-        animator.setInterpolator(new DecelerateInterpolator());
-        animator.start();
+    private void connectDots() {
+        IndicatorTrace.beginSection(IndicatorTrace.SECTION_CONNECT);
+        startGlueAnimation(GlueAnimation.CONNECT, mState.getGlueRatio(), mState.getGlueDistance(), ANIMATION_DURATION, mGlueInterpolator);
+        IndicatorTrace.endSection();
     }
 
     /**
@@ -388,144 +857,818 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      * @param currentPosition currently selected item
      * @param targetPosition  position of item that will be selected after animation will end
      */
-    public void animate(final int currentPosition, final int targetPosition) {
-        mPagerState = PagerState.SCROLLING;
-        mGluedDotLeft = Math.min(currentPosition, targetPosition);
-        mGluedDotRight = Math.max(currentPosition, targetPosition);
+    public void animate(int currentPosition, final int targetPosition) {
+        IndicatorTrace.beginSection(IndicatorTrace.SECTION_ANIMATE);
+        currentPosition = mState.jump(currentPosition, targetPosition);
 
         int difference = Math.abs(currentPosition - targetPosition);
         final int animationDuration = (int) Math.sqrt(difference) * ANIMATION_DURATION; // simulating exponential interpolation
 
-        ValueAnimator animator = ObjectAnimator.ofFloat(this, "glueRatio", 0F, difference);
-        animator.setDuration(animationDuration);
-        animator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mPagerState = PagerState.STILL;
-                mCurrentItem = targetPosition;
-                disconnectDots();
-            }
-        });
-        animator.start();
-    }
-
-    private void setGlueRatio(float glueRatio) {
-        mGlueRatio = glueRatio;
-        invalidate();
+        startGlueAnimation(GlueAnimation.JUMP, 0F, difference, animationDuration, mJumpInterpolator);
+        IndicatorTrace.endSection();
     }
 
     /**
-     * Measures width of view
+     * Animates glue ratio using one shared animator. Animation that is currently running is cancelled
+     * so only one transition changes glue ratio at a time.
      *
-     * @param measureSpec specification
-     * @return width depending on specification
+     * @param type         type of animation, determines what happens when it ends
+     * @param from         initial glue ratio
+     * @param to           final glue ratio
+     * @param duration     duration in milliseconds
+     * @param interpolator interpolator of animation
      */
-    @Px
-    private int measureWidth(int measureSpec) {
-        int mode = MeasureSpec.getMode(measureSpec);
-        int size = MeasureSpec.getSize(measureSpec);
-
-        switch (mode) {
-            case MeasureSpec.AT_MOST:
-                return Math.min(mTotalWidth, size);
-            case MeasureSpec.EXACTLY:
-                return size;
-            default:
-            case MeasureSpec.UNSPECIFIED:
-                return mTotalWidth;
+    private void startGlueAnimation(GlueAnimation type, float from, float to, long duration, TimeInterpolator interpolator) {
+        // Pending disconnect of finished jump must not override newer animation
+        removeCallbacks(mDisconnectRunnable);
+        mGlueAnimator.cancel();
+
+        if (mSpringEnabled) {
+            mGlueAnimation = type;
+
+            if (type == GlueAnimation.CONNECT) {
+                // Glue starts with velocity of pager so it does not lag behind the finger. First callback of gesture
+                // has no velocity yet, so it is handed over by the next one
+                float velocity = Math.min(Math.abs(mScrollVelocity), MAX_SPRING_VELOCITY);
+                mVelocityHandoffPending = mScrollVelocity == 0F;
+                mSpringDriver.animateTo(to, velocity);
+            } else if (type == GlueAnimation.JUMP) {
+                // Jump connects different dots, so glue has to start from scratch
+                mSpringDriver.animateFrom(from, to);
+            } else {
+                // Running spring is retargeted, current position and velocity are kept
+                mSpringDriver.animateTo(to, mSpringDriver.getVelocity());
+            }
+            return;
         }
+
+        mSpringDriver.cancel();
+        mGlueAnimation = type;
+        mGlueAnimationFrom = from;
+        mGlueAnimationTo = to;
+
+        mGlueAnimator.setDuration(duration);
+        mGlueAnimator.setInterpolator(interpolator);
+        mGlueAnimator.start();
     }
 
     /**
-     * Measures height of view
-     *
-     * @param measureSpec specification
-     * @return height depending on specification
+     * Requests redraw of whole view
+     */
+    private void requestRedraw() {
+        requestRedraw(0, 0, getWidth(), getHeight());
+    }
+
+    /**
+     * Requests redraw of area where glue is now and where it was when it was redrawn last time
+     */
+    private void requestRedrawGlue() {
+        int gluedDotLeft = mState.getGluedDotLeft();
+        int gluedDotRight = mState.getGluedDotRight();
+
+        requestRedrawDots(Math.min(gluedDotLeft, mRedrawnGluedDotLeft), Math.max(gluedDotRight, mRedrawnGluedDotRight));
+
+        mRedrawnGluedDotLeft = gluedDotLeft;
+        mRedrawnGluedDotRight = gluedDotRight;
+    }
+
+    /**
+     * Requests redraw of area where dots drawn by active paint are
+     */
+    private void requestRedrawActive() {
+        if (mState.getGlueRatio() > 0F) {
+            requestRedrawGlue();
+        } else {
+            requestRedrawDots(mState.getCurrentItem(), mState.getCurrentItem());
+        }
+    }
+
+    /**
+     * Requests redraw of area containing dots in range from first to last (both including)
+     *
+     * @param first position of first dot
+     * @param last  position of last dot
+     */
+    private void requestRedrawDots(int first, int last) {
+        if (mLayout.isScrolled()) {
+            // Window of visible dots might move, so everything is redrawn
+            requestRedraw();
+        } else {
+            int startPosition = mLayout.getStartPosition();
+            int dotRadius = mLayout.getDotRadius();
+
+            // Extra pixel covers anti-aliased edges
+            requestRedraw(startPosition + mLayout.getDotOffset(first) - dotRadius - 1, 0,
+                    startPosition + mLayout.getDotOffset(last) + dotRadius + 1, getHeight());
+        }
+    }
+
+    /**
+     * Requests redraw of given area, all redraws requested by indicator go through this method.
+     * Request for area that is already dirty is ignored, view merges the other ones requested before the next frame.
+     */
+    private void requestRedraw(int left, int top, int right, int bottom) {
+        if (mRedrawPending && mDirtyBounds.contains(left, top, right, bottom)) {
+            return;
+        }
+
+        if (mRedrawPending) {
+            mDirtyBounds.union(left, top, right, bottom);
+        } else {
+            mDirtyBounds.set(left, top, right, bottom);
+            mRedrawPending = true;
+        }
+
+        // Invalidated synchronously, callers run in animation phase of the frame which draws the change
+        invalidate(left, top, right, bottom);
+        onInvalidated();
+    }
+
+    /**
+     * Counts invalidations and reports their rate to metrics listener
+     */
+    private void onInvalidated() {
+        if (mMetricsListener != null) {
+            long now = System.nanoTime();
+
+            long elapsed = now - mInvalidateWindowStart;
+            if (mInvalidateWindowStart == 0L || elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+                if (mInvalidateWindowStart != 0L) {
+                    // Window may be much longer than one second when indicator was idle, so count is scaled by its length
+                    mMetricsListener.onInvalidateRate((int) Math.round(mInvalidateCount * 1e9 / elapsed));
+                }
+
+                mInvalidateWindowStart = now;
+                mInvalidateCount = 0;
+            }
+            mInvalidateCount++;
+        }
+    }
+
+    /**
+     * Moves glue and requests its redraw, it is called by animations of glue and by {@code DotRendererHarness}
+     */
+    void setGlueRatio(float glueRatio) {
+        if (mState.getGlueRatio() != glueRatio) {
+            mState.setGlueRatio(glueRatio);
+            requestRedrawGlue();
+            IndicatorTrace.setCounter(IndicatorTrace.COUNTER_GLUE_RATIO, (long) (glueRatio * IndicatorTrace.GLUE_RATIO_SCALE));
+        }
+    }
+
+    /**
+     * Reports count of running animations of glue to metrics listener and trace
+     *
+     * @param count count of running animations
+     */
+    private void onLiveAnimatorsChanged(int count) {
+        if (mMetricsListener != null) {
+            mMetricsListener.onLiveAnimatorsChanged(count);
+        }
+
+        IndicatorTrace.setCounter(IndicatorTrace.COUNTER_LIVE_ANIMATORS, count);
+    }
+
+    /**
+     * Passes dots walked by {@link DotPainter} to {@link #mRenderer} together with canvas and paints of this indicator.
+     * Canvas is set for each frame, so one instance is reused by all frames.
+     */
+    private final class CanvasAdapter implements DotCanvas {
+
+        @Nullable
+        private Canvas mCanvas;
+
+        private int mCenterY;
+
+        /**
+         * Reusable buffers of deferred inactive dots indexed by status, x and y coordinates alternate.
+         * Dots are deferred when {@link #mBatchedDrawingEnabled} is true or when they have status,
+         * so each paint is used once per frame.
+         */
+        private float[][] mPoints = new float[1][0];
+
+        /**
+         * Count of coordinates in each buffer of {@link #mPoints}
+         */
+        private int[] mPointsCount = new int[1];
+
+        /**
+         * Highest status which has deferred dots in current frame
+         */
+        private int mMaxPointsStatus = -1;
+
+        void begin(Canvas canvas, int centerY) {
+            mCanvas = canvas;
+            mCenterY = centerY;
+            mMaxPointsStatus = -1;
+        }
+
+        void end() {
+            flushPoints();
+            mCanvas = null;
+        }
+
+        /**
+         * Draws all deferred inactive dots grouped by status. In batched mode each group is drawn by one call,
+         * round cap with width of dot's diameter makes each point a circle
+         */
+        private void flushPoints() {
+            boolean batched = isBatched();
+
+            for (int status = 0; status <= mMaxPointsStatus; ++status) {
+                int count = mPointsCount[status];
+                if (count == 0) {
+                    continue;
+                }
+
+                float[] points = mPoints[status];
+                Paint paint = getStatusPaint(status);
+
+                if (batched) {
+                    paint.setStrokeWidth(2 * mLayout.getDotRadius());
+                    mCanvas.drawPoints(points, 0, count, paint);
+                    mDrawCalls++;
+                } else {
+                    for (int i = 0; i < count; i += 2) {
+                        mRenderer.drawInactiveDot(mCanvas, points[i], points[i + 1], mLayout.getDotRadius(), paint);
+                    }
+                    mDrawCalls += count / 2;
+                }
+
+                mPointsCount[status] = 0;
+            }
+
+            mMaxPointsStatus = -1;
+        }
+
+        private boolean isBatched() {
+            return mBatchedDrawingEnabled && mRenderer == mDefaultRenderer;
+        }
+
+        @Override
+        public void drawInactiveDot(int position, float centerX, float radius) {
+            int status = mStatuses.isEmpty() ? 0 : mStatuses.get(position);
+
+            if (radius != mLayout.getDotRadius()) {
+                // Shrunk dots at edges of bounded window can not share width of stroke with others
+                mRenderer.drawInactiveDot(mCanvas, centerX, mCenterY, radius, getStatusPaint(status));
+                mDrawCalls++;
+            } else if (status != 0 || isBatched()) {
+                addPoint(status, centerX);
+            } else {
+                mRenderer.drawInactiveDot(mCanvas, centerX, mCenterY, radius, mPaintInactive);
+                mDrawCalls++;
+            }
+        }
+
+        /**
+         * Defers drawing of inactive dot until {@link #flushPoints()}
+         */
+        private void addPoint(int status, float centerX) {
+            if (status >= mPoints.length) {
+                // Grows only when new status is used
+                float[][] points = new float[status + 1][];
+                System.arraycopy(mPoints, 0, points, 0, mPoints.length);
+                for (int i = mPoints.length; i < points.length; ++i) {
+                    points[i] = new float[0];
+                }
+                mPoints = points;
+
+                int[] counts = new int[status + 1];
+                System.arraycopy(mPointsCount, 0, counts, 0, mPointsCount.length);
+                mPointsCount = counts;
+            }
+
+            float[] points = mPoints[status];
+            int count = mPointsCount[status];
+
+            if (count + 2 > points.length) {
+                // Grows only when more dots are visible than ever before
+                float[] grown = new float[Math.max(2 * points.length, 64)];
+                System.arraycopy(points, 0, grown, 0, count);
+                points = grown;
+                mPoints[status] = points;
+            }
+
+            points[count] = centerX;
+            points[count + 1] = mCenterY;
+            mPointsCount[status] = count + 2;
+            mMaxPointsStatus = Math.max(mMaxPointsStatus, status);
+        }
+
+        @Override
+        public void drawActiveDot(float centerX, float radius) {
+            mRenderer.drawActiveDot(mCanvas, centerX, mCenterY, radius, mPaintActive);
+            mDrawCalls++;
+        }
+
+        @Override
+        public void drawGlue(float left, float right, float radius, float sibling, float siblingRadius, float ratio, boolean leftToRight) {
+            int siblingPosition = leftToRight ? mState.getGluedDotRight() : mState.getGluedDotLeft();
+
+            // Glue covers inactive dots, so they must be drawn before it
+            flushPoints();
+
+            mRenderer.drawInactiveDot(mCanvas, sibling, mCenterY, siblingRadius, getStatusPaint(mStatuses.get(siblingPosition))); // inactive dot - simulating movementCorrection
+            mRenderer.drawGlue(mCanvas, left, right, mCenterY, radius, ratio, leftToRight, mPaintActive);
+            mDrawCalls += 2;
+        }
+    }
+
+    /**
+     * Updates glue ratio from the shared animator and reacts on end of animations.
+     * One instance is created for each indicator, so animations do not allocate new listeners.
+     */
+    private final class GlueAnimatorListener extends AnimatorListenerAdapter implements ValueAnimator.AnimatorUpdateListener {
+
+        /**
+         * True when animation was cancelled because another one has started
+         */
+        private boolean mCancelled;
+
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            // Fraction is already interpolated, reading it does not box values as #getAnimatedValue() does
+            float fraction = animation.getAnimatedFraction();
+            setGlueRatio(mGlueAnimationFrom + (mGlueAnimationTo - mGlueAnimationFrom) * fraction);
+        }
+
+        @Override
+        public void onAnimationStart(Animator animation) {
+            mCancelled = false;
+
+            onLiveAnimatorsChanged(1);
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+            mCancelled = true;
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            onLiveAnimatorsChanged(0);
+
+            if (!mCancelled) {
+                onGlueAnimationEnd();
+            }
+        }
+    }
+
+    /**
+     * Spring animation engine of glue. Spring is stepped by {@link Choreographer} frame callback on Jelly Bean
+     * and newer, on older platforms by runnable posted on animation. Nothing is scheduled once spring settles.
+     */
+    private final class SpringDriver implements Runnable {
+
+        private final Spring mSpring = new Spring();
+
+        /**
+         * Created on first frame on Jelly Bean and newer, older platforms can not load it
+         */
+        @Nullable
+        private ChoreographerCallback mFrameCallback;
+
+        /**
+         * True when a frame is scheduled
+         */
+        private boolean mRunning;
+
+        /**
+         * Time in nanoseconds of last frame
+         */
+        private long mLastFrameTime;
+
+        /**
+         * Starts spring at given position
+         *
+         * @param from initial glue ratio
+         * @param to   final glue ratio
+         */
+        void animateFrom(float from, float to) {
+            mSpring.setPosition(from);
+            mSpring.setVelocity(0F);
+            mSpring.setTarget(to);
+            schedule();
+        }
+
+        /**
+         * Moves running spring to new target or starts spring at current glue ratio
+         *
+         * @param to       final glue ratio
+         * @param velocity initial velocity in glue ratio units per second
+         */
+        void animateTo(float to, float velocity) {
+            if (!mRunning) {
+                mSpring.setPosition(mState.getGlueRatio());
+            }
+
+            mSpring.setVelocity(velocity);
+            mSpring.setTarget(to);
+            schedule();
+        }
+
+        float getVelocity() {
+            return mRunning ? mSpring.getVelocity() : 0F;
+        }
+
+        /**
+         * Changes velocity of running spring, its position and target are kept
+         *
+         * @param velocity velocity in glue ratio units per second
+         */
+        void setVelocity(float velocity) {
+            if (mRunning) {
+                mSpring.setVelocity(velocity);
+            }
+        }
+
+        Spring getSpring() {
+            return mSpring;
+        }
+
+        /**
+         * Moves glue immediately to target of spring and finishes animation
+         */
+        void finish() {
+            if (mRunning) {
+                cancel();
+                setGlueRatio(Math.max(0F, mSpring.getTarget()));
+                onGlueAnimationEnd();
+            }
+        }
+
+        void cancel() {
+            if (mRunning) {
+                mRunning = false;
+                unschedule();
+
+                onLiveAnimatorsChanged(0);
+            }
+        }
+
+        private void schedule() {
+            if (!mRunning) {
+                mRunning = true;
+                mLastFrameTime = System.nanoTime();
+                postFrame();
+
+                onLiveAnimatorsChanged(1);
+            }
+        }
+
+        private void postFrame() {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                if (mFrameCallback == null) {
+                    mFrameCallback = new ChoreographerCallback(this);
+                }
+                mFrameCallback.post();
+            } else {
+                ViewCompat.postOnAnimation(PagerIndicator.this, this);
+            }
+        }
+
+        private void unschedule() {
+            if (mFrameCallback != null) {
+                mFrameCallback.remove();
+            } else {
+                removeCallbacks(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            onFrame(System.nanoTime());
+        }
+
+        void onFrame(long frameTimeNanos) {
+            if (!mRunning) {
+                return;
+            }
+
+            float seconds = Math.max(0L, frameTimeNanos - mLastFrameTime) / (float) TimeUnit.SECONDS.toNanos(1);
+            mLastFrameTime = frameTimeNanos;
+
+            boolean settled = mSpring.step(seconds);
+            setGlueRatio(Math.max(0F, mSpring.getPosition()));
+
+            if (settled) {
+                mRunning = false;
+
+                onLiveAnimatorsChanged(0);
+
+                onGlueAnimationEnd();
+            } else {
+                postFrame();
+            }
+        }
+    }
+
+    /**
+     * Passes {@link Choreographer} frames to {@link SpringDriver}. It is separated from the driver because
+     * frame callback does not exist before Jelly Bean and the driver is created by every indicator.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class ChoreographerCallback implements Choreographer.FrameCallback {
+
+        private final SpringDriver mDriver;
+
+        ChoreographerCallback(SpringDriver driver) {
+            mDriver = driver;
+        }
+
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void remove() {
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mDriver.onFrame(frameTimeNanos);
+        }
+    }
+
+    /**
+     * Called when glue animation was finished and was not cancelled by another one
+     */
+    private void onGlueAnimationEnd() {
+        switch (mGlueAnimation) {
+            case DISCONNECT:
+                mState.onDisconnected();
+                break;
+            case JUMP:
+                if (mState.onJumpEnd()) {
+                    // Restarting animator from its own end callback is not reliable on older platforms
+                    ViewCompat.postOnAnimation(PagerIndicator.this, mDisconnectRunnable);
+                }
+                break;
+            case CONNECT:
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Measures width of view
+     *
+     * @param measureSpec specification
+     * @return width depending on specification
      */
     @Px
-    private int measureHeight(int measureSpec) {
+    private int measureWidth(int measureSpec) {
         int mode = MeasureSpec.getMode(measureSpec);
         int size = MeasureSpec.getSize(measureSpec);
 
         switch (mode) {
             case MeasureSpec.AT_MOST:
-                return Math.min(2 * mDotRadius, size);
+                return Math.min(mLayout.getPreferredWidth(), size);
             case MeasureSpec.EXACTLY:
                 return size;
             default:
             case MeasureSpec.UNSPECIFIED:
-                return 2 * mDotRadius;
+                return mLayout.getPreferredWidth();
         }
     }
 
     /**
-     * Calculates position of any dot
+     * Measures height of view
      *
-     * @param position position in range from 0 (including) to {@link #mDotsCount} (excluding)
-     * @return x coordinate dot's center
+     * @param measureSpec specification
+     * @return height depending on specification
      */
-    private int getDotOffset(int position) {
-        return position * 2 * mDotRadius + position * mSpaceBetweenDots;
+    @Px
+    private int measureHeight(int measureSpec) {
+        int mode = MeasureSpec.getMode(measureSpec);
+        int size = MeasureSpec.getSize(measureSpec);
+
+        switch (mode) {
+            case MeasureSpec.AT_MOST:
+                return Math.min(2 * mLayout.getDotRadius(), size);
+            case MeasureSpec.EXACTLY:
+                return size;
+            default:
+            case MeasureSpec.UNSPECIFIED:
+                return 2 * mLayout.getDotRadius();
+        }
     }
 
     /**
      * Connects this indicator with given ViewPager.
      * It will automatically listen for changes and animate.
-     * Provided ViewPager may be null. All listeners from previous one will be detached
+     * Provided ViewPager may be null. All listeners from previous one will be detached.
+     * Listeners are registered only while this view is attached to window.
      *
      * @param pager view pager which has adapter attached.
      */
     public void setupWithViewPager(@Nullable ViewPager pager) {
-        if (pager == null) {
-            // Null pager, listeners must be removed
-            if (mViewPager != null) {
-                mViewPager.removeOnPageChangeListener(this);
-                mViewPager.removeOnAdapterChangeListener(this);
-            }
-        } else {
-            // If we had ViewPager previously then detach listener and continue
-            if (mViewPager != null) {
-                mViewPager.removeOnPageChangeListener(this);
-                mViewPager.removeOnAdapterChangeListener(this);
+        // If we had ViewPager previously then detach listeners
+        unregisterPagerListeners();
+        mViewPager = pager;
+        mViewPagerAttached = pager != null;
+
+        if (mViewPager != null) {
+            // Listeners are registered once this view is attached, so detached view does not leak
+            if (ViewCompat.isAttachedToWindow(this)) {
+                registerPagerListeners();
             }
 
-            mViewPager = pager;
+            syncWithViewPager();
+        }
+
+        // Drag state belonged to previous pager
+        if (mPagerDragged) {
+            mPagerDragged = false;
+            updateAutoAdvance();
+        }
+    }
+
+    /**
+     * Copies count of pages and selected page from {@link #mViewPager}
+     */
+    private void syncWithViewPager() {
+        if (mViewPager == null) {
+            return;
+        }
+
+        PagerAdapter adapter = mViewPager.getAdapter();
+        int dotsCount = adapter != null ? adapter.getCount() : 0; // no adapter attached => no dots ):
+        int currentItem = adapter != null ? mViewPager.getCurrentItem() : 0;
+
+        if (mLayout.getDotsCount() != dotsCount) {
+            changeDotsCount(dotsCount);
+            mState.setCurrentItem(currentItem);
+            truncateStatuses();
+            requestRedraw();
+        } else if (mState.getCurrentItem() != currentItem) {
+            mState.setCurrentItem(currentItem);
+            requestRedraw();
+        }
+    }
+
+    private void registerPagerListeners() {
+        if (mViewPager != null && !mPagerListenersRegistered) {
             mViewPager.addOnPageChangeListener(this);
             mViewPager.addOnAdapterChangeListener(this);
+            observeAdapter(mViewPager.getAdapter());
+            mPagerListenersRegistered = true;
+        }
+    }
+
+    private void unregisterPagerListeners() {
+        if (mViewPager != null && mPagerListenersRegistered) {
+            mViewPager.removeOnPageChangeListener(this);
+            mViewPager.removeOnAdapterChangeListener(this);
+            observeAdapter(null);
+            cancelRecount();
+            mPagerListenersRegistered = false;
+        }
+    }
 
-            if (mViewPager.getAdapter() != null) {
-                mDotsCount = mViewPager.getAdapter().getCount();
-                mCurrentItem = pager.getCurrentItem();
-            } else { // no adapter attached => no dots ):
-                mDotsCount = 0;
-                mCurrentItem = 0;
+    /**
+     * Moves {@link #mAdapterObserver} from previously observed adapter to given one
+     *
+     * @param adapter adapter to observe or null to stop observing
+     */
+    private void observeAdapter(@Nullable PagerAdapter adapter) {
+        if (mObservedAdapter != adapter) {
+            if (mObservedAdapter != null) {
+                mObservedAdapter.unregisterDataSetObserver(mAdapterObserver);
             }
 
-            calculateTotalWidth();
-            invalidate();
+            mObservedAdapter = adapter;
+
+            if (mObservedAdapter != null) {
+                mObservedAdapter.registerDataSetObserver(mAdapterObserver);
+            }
+        }
+    }
+
+    /**
+     * Recounts dots in next frame, all changes reported until then are merged into one recount
+     */
+    private void scheduleRecount() {
+        if (!mRecountScheduled) {
+            mRecountScheduled = true;
+            ViewCompat.postOnAnimation(this, mRecountRunnable);
+        }
+    }
+
+    private void cancelRecount() {
+        if (mRecountScheduled) {
+            mRecountScheduled = false;
+            removeCallbacks(mRecountRunnable);
+        }
+    }
+
+    /**
+     * Stops all glue animations and moves indicator to the state they would end in
+     */
+    private void cancelGlueAnimations() {
+        removeCallbacks(mDisconnectRunnable);
+        mGlueAnimator.cancel();
+        mSpringDriver.cancel();
+
+        mState.settle();
+        resetScrollVelocity();
+        requestRedraw();
+    }
+
+    /**
+     * Forgets velocity of pager, so it is not handed to glue of the next gesture
+     */
+    private void resetScrollVelocity() {
+        mScrollVelocity = 0F;
+        mLastScrollTime = 0L;
+        mVelocityHandoffPending = false;
+    }
+
+    /**
+     * Sets count of dots and selected dot when paging view reports that all of its data changed.
+     * Used by bindings which can not use {@link #setDotsCount(int)} because they track data on their own
+     *
+     * @param dotsCount   total count of dots
+     * @param currentItem selected dot
+     */
+    void onDataSetChanged(int dotsCount, int currentItem) {
+        changeDotsCount(dotsCount);
+        truncateStatuses();
+        mState.setCurrentItem(Math.max(0, Math.min(currentItem, dotsCount - 1)));
+        requestRedraw();
+    }
+
+    /**
+     * Adds dots when paging view reports that some items were inserted. Selected page stays selected,
+     * so indicator does not jump when items are inserted before it.
+     *
+     * @param positionStart position of first inserted item
+     * @param itemCount     count of inserted items
+     */
+    void onItemRangeInserted(int positionStart, int itemCount) {
+        changeDotsCount(mLayout.getDotsCount() + itemCount);
+        mState.onItemRangeInserted(positionStart, itemCount);
+        mStatuses.onItemRangeInserted(positionStart, itemCount);
+        mStaticLayerStatusesChanged = true;
+        requestRedraw();
+    }
+
+    /**
+     * Removes dots when paging view reports that some items were removed. Selected page stays selected
+     * when it was not removed.
+     *
+     * @param positionStart position of first removed item
+     * @param itemCount     count of removed items
+     */
+    void onItemRangeRemoved(int positionStart, int itemCount) {
+        changeDotsCount(Math.max(0, mLayout.getDotsCount() - itemCount));
+        mState.onItemRangeRemoved(positionStart, itemCount, mLayout.getDotsCount());
+        mStatuses.onItemRangeRemoved(positionStart, itemCount);
+        mStaticLayerStatusesChanged = true;
+        requestRedraw();
+    }
 
+    /**
+     * Reorders dots when paging view reports that some items were moved. Selected page stays selected,
+     * also when it was moved itself.
+     *
+     * @param fromPosition position of first moved item before move
+     * @param toPosition   position of first moved item after move
+     * @param itemCount    count of moved items
+     */
+    void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        mState.onItemRangeMoved(fromPosition, toPosition, itemCount);
+        mStatuses.onItemRangeMoved(fromPosition, toPosition, itemCount);
+        mStaticLayerStatusesChanged = true;
+        requestRedraw();
+    }
+
+    /**
+     * Changes count of dots and requests layout when width which indicator wants changes.
+     * Bounded window keeps the width when there are more dots than it shows.
+     *
+     * @param dotsCount total count of dots
+     */
+    private void changeDotsCount(int dotsCount) {
+        int preferredWidth = mLayout.getPreferredWidth();
+        mLayout.setDotsCount(dotsCount);
+
+        if (mLayout.getPreferredWidth() != preferredWidth) {
+            requestLayout();
         }
     }
 
     /**
-     * Notifies that adapter's data has changed, call this method when for example
-     * total count of items in adapter changes.
+     * Recounts dots immediately. Indicator attached to ViewPager observes its adapter and recounts
+     * dots once per frame on its own, so calling this method is needed only when new count must be known
+     * before next frame.
      * <p>
      * Calling this method is not required when the adapter has been replaced with another one.
      */
     public void notifyDataSetChanged() {
-        if (mViewPager != null) {
-            if (mViewPager.getAdapter() != null) {
-                mDotsCount = mViewPager.getAdapter().getCount();
-                mCurrentItem = mViewPager.getCurrentItem();
-            } else {
-                mDotsCount = 0;
-                mCurrentItem = 0;
-            }
-        }
-
-        calculateTotalWidth();
-        invalidate();
+        cancelRecount();
+        syncWithViewPager();
     }
 
     /**
@@ -537,23 +1680,64 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
     public void setCurrentItem(int newPosition, boolean animate) {
         if (mViewPager != null) {
             throw new IllegalStateException("ViewPager is attached to PagerIndicator, detach it by calling #setupWithViewPager(ViewPager) and pass 'null' before calling this method");
-        } else if (newPosition < 0 || newPosition >= mDotsCount) {
-            throw new IllegalArgumentException("New position must be in range from 0 to " + (mDotsCount - 1) + ", provided argument is " + newPosition);
+        } else if (newPosition < 0 || newPosition >= mLayout.getDotsCount()) {
+            throw new IllegalArgumentException("New position must be in range from 0 to " + (mLayout.getDotsCount() - 1) + ", provided argument is " + newPosition);
         }
 
         if (animate) {
-            animate(mCurrentItem, newPosition);
-        } else {
-            mCurrentItem = newPosition;
-            invalidate();
+            animate(mState.getCurrentItem(), newPosition);
+        } else if (mState.getCurrentItem() != newPosition) {
+            int oldPosition = mState.getCurrentItem();
+            mState.setCurrentItem(newPosition);
+            requestRedrawDots(Math.min(oldPosition, newPosition), Math.max(oldPosition, newPosition));
         }
     }
 
     /**
-     * @return currently selected dot. This number is in rage from 0 to {@link #mDotRadius} - 1
+     * Moves indicator to continuous position, the same way as scrolling ViewPager does.
+     * For example 2.5 means that indicator is in the middle between third and fourth dot.
+     * <p>
+     * This method can be called from any thread while the view is attached, e.g. from media player or game loop.
+     * Only the latest value is applied once per frame, values passed between two frames are dropped.
+     * </p>
+     *
+     * @param position page and offset to next page, values out of range are clamped
+     */
+    public void setProgress(float position) {
+        if (mViewPagerAttached) {
+            throw new IllegalStateException("ViewPager is attached to PagerIndicator, detach it by calling #setupWithViewPager(ViewPager) and pass 'null' before calling this method");
+        }
+
+        mPendingProgress.set(Float.floatToIntBits(position));
+
+        // Only the first update after frame is posted, following ones just replace the value
+        if (mProgressPending.compareAndSet(false, true)) {
+            ViewCompat.postOnAnimation(this, mProgressRunnable);
+        }
+    }
+
+    /**
+     * Applies progress passed to {@link #setProgress(float)}, it must be called on UI thread
+     *
+     * @param progress page and offset to next page
+     */
+    private void applyProgress(float progress) {
+        int lastPosition = mLayout.getDotsCount() - 1;
+        if (lastPosition < 0 || Float.isNaN(progress)) {
+            return;
+        }
+
+        progress = Math.max(0F, Math.min(progress, lastPosition));
+        int position = (int) progress;
+
+        onPageScrolled(position, progress - position, 0);
+    }
+
+    /**
+     * @return currently selected dot. This number is in rage from 0 to {@link #getDotsCount()} - 1
      */
     public int getCurrentItem() {
-        return mCurrentItem;
+        return mState.getCurrentItem();
     }
 
     /**
@@ -579,8 +1763,10 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      * @param activeColor color of active dot
      */
     public void setActiveColor(@ColorInt int activeColor) {
-        mPaintActive.setColor(activeColor);
-        invalidate();
+        if (mPaintActive.getColor() != activeColor) {
+            mPaintActive.setColor(activeColor);
+            requestRedrawActive();
+        }
     }
 
     /**
@@ -597,24 +1783,80 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      * @param inactiveColor color of inactive dots
      */
     public void setInactiveColor(@ColorInt int inactiveColor) {
-        mPaintActive.setColor(inactiveColor);
-        invalidate();
+        if (mPaintInactive.getColor() != inactiveColor) {
+            mPaintInactive.setColor(inactiveColor);
+            requestRedraw();
+        }
+    }
+
+    /**
+     * Sets colors, radius and spacing of dots at once
+     *
+     * @param style look of indicator
+     */
+    public void setStyle(@NonNull IndicatorStyle style) {
+        boolean sizeChanged = mLayout.getDotRadius() != style.getDotRadius() || mLayout.getSpaceBetweenDots() != style.getSpaceBetweenDots();
+        boolean colorChanged = mPaintActive.getColor() != style.getActiveColor() || mPaintInactive.getColor() != style.getInactiveColor();
+
+        applyStyle(style);
+
+        if (sizeChanged) {
+            requestLayout();
+        }
+        if (sizeChanged || colorChanged) {
+            requestRedraw();
+        }
+    }
+
+    /**
+     * Copies values of style into paints and layout
+     *
+     * @param style look of indicator
+     */
+    private void applyStyle(@NonNull IndicatorStyle style) {
+        mPaintActive.setColor(style.getActiveColor());
+        mPaintInactive.setColor(style.getInactiveColor());
+        mLayout.setDotRadius(style.getDotRadius());
+        mLayout.setSpaceBetweenDots(style.getSpaceBetweenDots());
     }
 
     /**
      * @param spaceBetweenDots total space in px between dots
      */
     public void setSpaceBetweenDots(@Px int spaceBetweenDots) {
-        mSpaceBetweenDots = spaceBetweenDots;
-        calculateTotalWidth();
-        invalidate();
+        if (mLayout.getSpaceBetweenDots() != spaceBetweenDots) {
+            mLayout.setSpaceBetweenDots(spaceBetweenDots);
+            requestRedraw();
+        }
     }
 
     /**
      * @param dotRadius radius of one dot
      */
     public void setDotRadius(@Px int dotRadius) {
-        mDotRadius = dotRadius;
+        mLayout.setDotRadius(dotRadius);
+    }
+
+    /**
+     * Limits count of visible dots, so indicator does not grow with count of pages. When there are more pages,
+     * window of dots follows selected page and dots at its edges are shrunk. Each frame draws only dots
+     * in the window, so it costs the same for any count of pages. Not limited by default.
+     *
+     * @param maxVisibleDots maximal count of visible dots or 0 to show as many dots as fit into this view
+     */
+    public void setMaxVisibleDots(int maxVisibleDots) {
+        if (mLayout.getMaxVisibleDots() != maxVisibleDots) {
+            mLayout.setMaxVisibleDots(maxVisibleDots);
+            requestLayout();
+            requestRedraw();
+        }
+    }
+
+    /**
+     * @return maximal count of visible dots, 0 when it is not limited, {@link #setMaxVisibleDots(int)}
+     */
+    public int getMaxVisibleDots() {
+        return mLayout.getMaxVisibleDots();
     }
 
     /**
@@ -622,14 +1864,14 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      */
     @Px
     public int getSpaceBetweenDots() {
-        return mSpaceBetweenDots;
+        return mLayout.getSpaceBetweenDots();
     }
 
     /**
      * @return count of displayed dots
      */
     public int getDotsCount() {
-        return mDotsCount;
+        return mLayout.getDotsCount();
     }
 
     /**
@@ -642,9 +1884,11 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
             throw new IllegalStateException("ViewPager is attached to PagerIndicator, detach it by calling #setupWithViewPager(ViewPager) and pass 'null' before calling this method");
         }
 
-        mDotsCount = dotsCount;
-        calculateTotalWidth();
-        invalidate();
+        if (mLayout.getDotsCount() != dotsCount) {
+            changeDotsCount(dotsCount);
+            truncateStatuses();
+            requestRedraw();
+        }
     }
 
     /**
@@ -652,6 +1896,370 @@ public class PagerIndicator extends View implements ViewPager.OnPageChangeListen
      */
     @Px
     public int getDotRadius() {
-        return mDotRadius;
+        return mLayout.getDotRadius();
+    }
+
+    /**
+     * Enables or disables caching of inactive dots. When enabled, inactive dots are drawn just once
+     * into bitmap about twice as wide as this view and each frame only copies it and draws dots that are animated
+     * or shrunk at edges of bounded window.
+     * This is handy when there are plenty of visible dots and user scrolls a lot, but it costs memory
+     * for the bitmap. Disabled by default.
+     *
+     * @param enabled true to cache inactive dots
+     */
+    public void setStaticLayerCacheEnabled(boolean enabled) {
+        if (mStaticLayerEnabled != enabled) {
+            mStaticLayerEnabled = enabled;
+
+            if (!enabled) {
+                releaseStaticLayer();
+            }
+
+            requestRedraw();
+        }
+    }
+
+    /**
+     * @return true if inactive dots are cached, {@link #setStaticLayerCacheEnabled(boolean)}
+     */
+    public boolean isStaticLayerCacheEnabled() {
+        return mStaticLayerEnabled;
+    }
+
+    /**
+     * Installs listener which receives runtime metrics of this indicator - duration of frames, count of draw calls,
+     * rate of redraws, running animations and fast scroll catch-ups. When null is passed, no metrics are collected.
+     *
+     * @param listener listener or null
+     */
+    public void setMetricsListener(@Nullable IndicatorMetricsListener listener) {
+        mMetricsListener = listener;
+        mInvalidateCount = 0;
+        mInvalidateWindowStart = 0L;
+    }
+
+    /**
+     * Switches animation engine of glue. When enabled, glue is moved by a spring which starts with velocity of pager
+     * and which is smoothly redirected when user changes direction, instead of fixed length animations.
+     * Disabled by default.
+     *
+     * @param enabled true to animate glue with spring
+     */
+    public void setSpringAnimationEnabled(boolean enabled) {
+        if (mSpringEnabled != enabled) {
+            mSpringEnabled = enabled;
+            resetScrollVelocity();
+
+            if (!enabled) {
+                mSpringDriver.finish();
+            }
+        }
+    }
+
+    /**
+     * @return true if glue is animated with spring, {@link #setSpringAnimationEnabled(boolean)}
+     */
+    public boolean isSpringAnimationEnabled() {
+        return mSpringEnabled;
+    }
+
+    /**
+     * Sets stiffness of spring used when {@link #setSpringAnimationEnabled(boolean)} is enabled
+     *
+     * @param stiffness stiffness of spring, bigger values make glue faster, default is {@link Spring#DEFAULT_STIFFNESS}
+     */
+    public void setSpringStiffness(float stiffness) {
+        mSpringDriver.getSpring().setStiffness(stiffness);
+    }
+
+    /**
+     * Switches rendering of inactive dots. When enabled, they are collected during frame and drawn by one
+     * {@link Canvas#drawPoints(float[], int, int, Paint)} call with round cap instead of one call per dot.
+     * Selected dot and glue are still drawn separately. This is handy when several hundreds of dots are visible.
+     * It has effect only when default {@link NougatDotRenderer} is used. Disabled by default.
+     *
+     * @param enabled true to draw inactive dots in one batch
+     */
+    public void setBatchedDrawingEnabled(boolean enabled) {
+        if (mBatchedDrawingEnabled != enabled) {
+            mBatchedDrawingEnabled = enabled;
+            requestRedraw();
+        }
+    }
+
+    /**
+     * @return true if inactive dots are drawn in one batch, {@link #setBatchedDrawingEnabled(boolean)}
+     */
+    public boolean isBatchedDrawingEnabled() {
+        return mBatchedDrawingEnabled;
+    }
+
+    /**
+     * Sets renderer which draws shapes of dots and glue. Renderer must not allocate while drawing.
+     *
+     * @param renderer custom renderer or null to use default {@link NougatDotRenderer}
+     */
+    public void setDotRenderer(@Nullable DotRenderer renderer) {
+        DotRenderer newRenderer = renderer != null ? renderer : mDefaultRenderer;
+
+        if (mRenderer != newRenderer) {
+            mRenderer = newRenderer;
+            requestRedraw();
+        }
+    }
+
+    /**
+     * @return renderer which draws shapes of dots and glue
+     */
+    @NonNull
+    public DotRenderer getDotRenderer() {
+        return mRenderer;
+    }
+
+    /**
+     * Enables automatic advancing to next page, after the last page the first one is selected.
+     * When ViewPager is attached its page is changed, otherwise selected dot is moved.
+     * <p>
+     * Advancing is scheduled on frame clock and it pauses while indicator is detached, hidden,
+     * its window has no focus or user drags the pager, so nothing runs while user cannot see it.
+     * </p>
+     *
+     * @param intervalMillis delay between two advances in milliseconds, 0 disables auto advance
+     */
+    public void setAutoAdvanceInterval(long intervalMillis) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Interval must not be negative, provided argument is " + intervalMillis);
+        }
+
+        if (mAutoAdvanceInterval != intervalMillis) {
+            mAutoAdvanceInterval = intervalMillis;
+            cancelAutoAdvance();
+            updateAutoAdvance();
+        }
+    }
+
+    /**
+     * @return delay between two automatic advances in milliseconds, 0 when disabled
+     */
+    public long getAutoAdvanceInterval() {
+        return mAutoAdvanceInterval;
+    }
+
+    /**
+     * Schedules next auto advance when indicator can be seen, otherwise cancels it
+     */
+    private void updateAutoAdvance() {
+        boolean visible = ViewCompat.isAttachedToWindow(this) && isShown()
+                && getWindowVisibility() == VISIBLE && hasWindowFocus();
+
+        if (mAutoAdvanceInterval > 0 && visible && !mPagerDragged) {
+            if (!mAutoAdvanceScheduled) {
+                mAutoAdvanceScheduled = true;
+                ViewCompat.postOnAnimationDelayed(this, mAutoAdvanceRunnable, mAutoAdvanceInterval);
+            }
+        } else {
+            cancelAutoAdvance();
+        }
+    }
+
+    /**
+     * Removes scheduled auto advance
+     */
+    private void cancelAutoAdvance() {
+        if (mAutoAdvanceScheduled) {
+            mAutoAdvanceScheduled = false;
+            removeCallbacks(mAutoAdvanceRunnable);
+        }
+    }
+
+    /**
+     * Selects next page or the first one when the last one is selected
+     */
+    private void advance() {
+        if (mViewPager != null) {
+            PagerAdapter adapter = mViewPager.getAdapter();
+            int count = adapter != null ? adapter.getCount() : 0;
+
+            if (count > 1) {
+                mViewPager.setCurrentItem((mViewPager.getCurrentItem() + 1) % count, true);
+            }
+        } else if (mLayout.getDotsCount() > 1) {
+            setCurrentItem((mState.getCurrentItem() + 1) % mLayout.getDotsCount(), true);
+        }
+    }
+
+    /**
+     * Sets curve of connecting and disconnecting of neighbouring dots. Curve is baked into lookup table once,
+     * so it may be arbitrarily complex. Spring animation ignores it.
+     *
+     * @param curve custom curve or null to use {@link EasingCurves#DECELERATE}
+     */
+    public void setGlueCurve(@Nullable EasingCurve curve) {
+        mGlueInterpolator = curve != null ? new EasingInterpolator(curve) : DECELERATE_INTERPOLATOR;
+    }
+
+    /**
+     * Sets curve of jump from selected dot to another one, see {@link #setCurrentItem(int, boolean)}.
+     * Curve is baked into lookup table once, so it may be arbitrarily complex. Spring animation ignores it.
+     *
+     * @param curve custom curve or null to use {@link EasingCurves#ACCELERATE_DECELERATE}
+     */
+    public void setJumpCurve(@Nullable EasingCurve curve) {
+        mJumpInterpolator = curve != null ? new EasingInterpolator(curve) : ACCELERATE_DECELERATE_INTERPOLATOR;
+    }
+
+    /**
+     * Sets curve of movement of inactive dot towards glue. Curve is baked into lookup table once.
+     *
+     * @param curve custom curve or null to use {@link EasingCurves#MOVEMENT_CORRECTION}
+     */
+    public void setMovementCurve(@Nullable EasingCurve curve) {
+        mLayout.setMovementCurve(curve);
+        requestRedrawGlue();
+    }
+
+    /**
+     * Enables trace sections around drawing, measuring, scrolling and starting of animations and counters
+     * of glue ratio, selected dot and running animations. They are visible in Systrace and Perfetto next to
+     * the rest of the app. Disabled by default, it affects all indicators.
+     *
+     * @param enabled true to emit trace sections and counters
+     */
+    public static void setTraceEnabled(boolean enabled) {
+        IndicatorTrace.setEnabled(enabled);
+    }
+
+    /**
+     * @return true if trace sections and counters are emitted, {@link #setTraceEnabled(boolean)}
+     */
+    public static boolean isTraceEnabled() {
+        return IndicatorTrace.isEnabled();
+    }
+
+    /**
+     * @param status status of dot
+     * @return paint of inactive dot with given status
+     */
+    private Paint getStatusPaint(int status) {
+        if (status > 0 && status < mStatusPaints.length && mStatusPaints[status] != null) {
+            return mStatusPaints[status];
+        }
+        return mPaintInactive;
+    }
+
+    /**
+     * Sets color of inactive dots with given status. Dots with status that has no color use inactive color.
+     *
+     * @param status status in range from 1 to {@link DotStatusStore#MAX_STATUS}
+     * @param color  color of dots with that status
+     */
+    public void setStatusColor(int status, @ColorInt int color) {
+        if (status <= 0 || status > DotStatusStore.MAX_STATUS) {
+            throw new IllegalArgumentException("Status must be in range from 1 to " + DotStatusStore.MAX_STATUS + ", provided argument is " + status);
+        }
+
+        if (status >= mStatusPaints.length) {
+            Paint[] paints = new Paint[status + 1];
+            System.arraycopy(mStatusPaints, 0, paints, 0, mStatusPaints.length);
+            mStatusPaints = paints;
+        }
+
+        Paint paint = mStatusPaints[status];
+        if (paint == null) {
+            paint = new Paint(mPaintInactive);
+            mStatusPaints[status] = paint;
+        } else if (paint.getColor() == color) {
+            return;
+        }
+
+        paint.setColor(color);
+        mStaticLayerStatusesChanged = true;
+        requestRedraw();
+    }
+
+    /**
+     * @param status status of dot
+     * @return color of inactive dots with given status
+     */
+    @ColorInt
+    public int getStatusColor(int status) {
+        return getStatusPaint(status).getColor();
+    }
+
+    /**
+     * Sets status of one dot, see {@link #setDotStatus(int, int, int)}
+     *
+     * @param position position of dot
+     * @param status   status in range from 0 to {@link DotStatusStore#MAX_STATUS}, 0 removes status
+     */
+    public void setDotStatus(int position, int status) {
+        setDotStatus(position, position, status);
+    }
+
+    /**
+     * Sets status of dots in range, e.g. read, downloaded or failed pages. Inactive dot with status is drawn
+     * by color set in {@link #setStatusColor(int, int)}, selected dot keeps active color.
+     * Only dots whose status really changed are redrawn. Range is cut to existing dots.
+     *
+     * @param first  position of first dot
+     * @param last   position of last dot (including)
+     * @param status status in range from 0 to {@link DotStatusStore#MAX_STATUS}, 0 removes status
+     */
+    public void setDotStatus(int first, int last, int status) {
+        if (status < 0 || status > DotStatusStore.MAX_STATUS) {
+            throw new IllegalArgumentException("Status must be in range from 0 to " + DotStatusStore.MAX_STATUS + ", provided argument is " + status);
+        } else if (first < 0 || last < first) {
+            throw new IllegalArgumentException("Invalid range of dots [" + first + ", " + last + "]");
+        }
+
+        // Store grows with the last position, so it must not exceed count of dots
+        last = Math.min(last, getDotsCount() - 1);
+        if (first > last) {
+            return;
+        }
+
+        if (mStatuses.set(first, last, status)) {
+            onStatusesChanged();
+        }
+    }
+
+    /**
+     * @param position position of dot
+     * @return status of dot, 0 when it has none
+     */
+    public int getDotStatus(int position) {
+        return mStatuses.get(position);
+    }
+
+    /**
+     * Removes status of all dots
+     */
+    public void clearDotStatuses() {
+        if (mStatuses.clear()) {
+            onStatusesChanged();
+        }
+    }
+
+    /**
+     * Drops statuses of dots which no longer exist, so they do not reappear when dots are added again
+     */
+    private void truncateStatuses() {
+        mStatuses.truncate(mLayout.getDotsCount());
+        mStaticLayerStatusesChanged = true;
+    }
+
+    /**
+     * Redraws dots changed by last modification of {@link #mStatuses}
+     */
+    private void onStatusesChanged() {
+        mStaticLayerStatusesChanged = true;
+
+        // Dots out of visible window are not redrawn at all
+        int first = Math.max(mStatuses.getChangedFirst(), mLayout.getFirstVisible(0));
+        int last = Math.min(mStatuses.getChangedLast(), mLayout.getLastVisible(getWidth()));
+        if (last >= first) {
+            requestRedrawDots(first, last);
+        }
     }
 }
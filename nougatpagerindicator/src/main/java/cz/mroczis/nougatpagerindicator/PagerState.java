@@ -1,11 +0,0 @@
-package cz.mroczis.nougatpagerindicator;
-
-/**
- * Indicates current state of {@link PagerIndicator}
- * Created by Michal on 29.06.17.
- */
-
-public enum PagerState {
-    SCROLLING,
-    STILL;
-}
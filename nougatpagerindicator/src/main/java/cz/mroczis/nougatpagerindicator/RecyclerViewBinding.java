@@ -0,0 +1,226 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+/**
+ * Connects {@link PagerIndicator} with {@link RecyclerView} whose items fill it completely and which
+ * snaps to them, for example using {@code PagerSnapHelper}. Both horizontal and vertical layouts are supported.
+ * <p>
+ * Changes of adapter are applied incrementally - when items are inserted or removed only count of dots
+ * is changed and selected page stays selected, so nothing jumps when pages are inserted in front of current one.
+ * </p>
+ * <p>
+ * Listeners are registered only while indicator is attached to window, so detached indicator is not leaked.
+ * </p>
+ * <p>
+ * RecyclerView is not a mandatory dependency of this library, add it to your project to use this class.
+ * </p>
+ */
+
+public final class RecyclerViewBinding {
+
+    private final PagerIndicator mIndicator;
+    private final RecyclerView mRecyclerView;
+
+    /**
+     * Adapter which is observed, null when RecyclerView had no adapter when it was bound
+     */
+    @Nullable
+    private RecyclerView.Adapter<?> mAdapter;
+
+    /**
+     * Last reported scroll, same scroll is not reported twice
+     */
+    private int mLastPosition = -1;
+    private int mLastPixels = -1;
+
+    private final RecyclerView.OnScrollListener mScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            dispatchScroll();
+        }
+
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                dispatchScroll();
+            }
+        }
+    };
+
+    private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            mIndicator.onDataSetChanged(getItemCount(), getCurrentPage());
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mIndicator.onItemRangeInserted(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mIndicator.onItemRangeRemoved(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            mIndicator.onItemRangeMoved(fromPosition, toPosition, itemCount);
+        }
+    };
+
+    /**
+     * True when scroll listener and adapter observer are registered
+     */
+    private boolean mListening;
+
+    private final View.OnAttachStateChangeListener mAttachListener = new View.OnAttachStateChangeListener() {
+        @Override
+        public void onViewAttachedToWindow(View v) {
+            startListening();
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View v) {
+            stopListening();
+        }
+    };
+
+    private RecyclerViewBinding(PagerIndicator indicator, RecyclerView recyclerView) {
+        mIndicator = indicator;
+        mRecyclerView = recyclerView;
+    }
+
+    /**
+     * Connects indicator with given RecyclerView. It will automatically listen for scroll and changes of adapter.
+     * When adapter of RecyclerView is replaced, call {@link #notifyAdapterChanged()}.
+     *
+     * @param indicator    indicator which is not attached to any ViewPager
+     * @param recyclerView RecyclerView whose items fill it completely
+     * @return binding, call {@link #unbind()} when it is not needed anymore
+     */
+    @NonNull
+    public static RecyclerViewBinding bind(@NonNull PagerIndicator indicator, @NonNull RecyclerView recyclerView) {
+        RecyclerViewBinding binding = new RecyclerViewBinding(indicator, recyclerView);
+        indicator.addOnAttachStateChangeListener(binding.mAttachListener);
+
+        if (ViewCompat.isAttachedToWindow(indicator)) {
+            binding.startListening();
+        }
+
+        return binding;
+    }
+
+    /**
+     * Call this method when adapter of RecyclerView has been replaced with another one
+     */
+    public void notifyAdapterChanged() {
+        if (!mListening) {
+            // Adapter is picked up once indicator is attached
+            return;
+        }
+
+        if (mAdapter != null) {
+            mAdapter.unregisterAdapterDataObserver(mDataObserver);
+        }
+
+        mAdapter = mRecyclerView.getAdapter();
+        if (mAdapter != null) {
+            mAdapter.registerAdapterDataObserver(mDataObserver);
+        }
+
+        mLastPosition = -1;
+        mLastPixels = -1;
+        mIndicator.onDataSetChanged(getItemCount(), getCurrentPage());
+    }
+
+    /**
+     * Removes all listeners, indicator is not updated afterwards
+     */
+    public void unbind() {
+        mIndicator.removeOnAttachStateChangeListener(mAttachListener);
+        stopListening();
+    }
+
+    /**
+     * Registers listeners and copies current state of RecyclerView into indicator
+     */
+    private void startListening() {
+        if (!mListening) {
+            mListening = true;
+            mRecyclerView.addOnScrollListener(mScrollListener);
+            notifyAdapterChanged();
+        }
+    }
+
+    private void stopListening() {
+        if (mListening) {
+            mListening = false;
+            mRecyclerView.removeOnScrollListener(mScrollListener);
+
+            if (mAdapter != null) {
+                mAdapter.unregisterAdapterDataObserver(mDataObserver);
+                mAdapter = null;
+            }
+        }
+    }
+
+    private int getItemCount() {
+        return mAdapter != null ? mAdapter.getItemCount() : 0;
+    }
+
+    /**
+     * @return true if pages are laid out vertically
+     */
+    private boolean isVertical() {
+        RecyclerView.LayoutManager layoutManager = mRecyclerView.getLayoutManager();
+        return layoutManager != null && layoutManager.canScrollVertically();
+    }
+
+    /**
+     * @return size of one page in scroll direction
+     */
+    private int getPageSize() {
+        return isVertical() ? mRecyclerView.getHeight() : mRecyclerView.getWidth();
+    }
+
+    /**
+     * @return scroll of RecyclerView in pixels
+     */
+    private int getScroll() {
+        return isVertical() ? mRecyclerView.computeVerticalScrollOffset() : mRecyclerView.computeHorizontalScrollOffset();
+    }
+
+    /**
+     * @return page which is now on the left (or top) side of RecyclerView
+     */
+    private int getCurrentPage() {
+        int pageSize = getPageSize();
+        return pageSize > 0 ? getScroll() / pageSize : 0;
+    }
+
+    /**
+     * Converts scroll of RecyclerView to the same values ViewPager reports and passes them to indicator
+     */
+    private void dispatchScroll() {
+        int pageSize = getPageSize();
+        if (pageSize <= 0) {
+            return;
+        }
+
+        int scroll = getScroll();
+        int position = scroll / pageSize;
+        int pixels = scroll - position * pageSize;
+
+        if (position != mLastPosition || pixels != mLastPixels) {
+            mLastPosition = position;
+            mLastPixels = pixels;
+            mIndicator.onPageScrolled(position, (float) pixels / pageSize, pixels);
+        }
+    }
+}
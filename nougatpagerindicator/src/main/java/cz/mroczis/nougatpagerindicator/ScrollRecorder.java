@@ -0,0 +1,119 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewPager;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import cz.mroczis.nougatpagerindicator.core.ScrollPlayer;
+import cz.mroczis.nougatpagerindicator.core.ScrollRecording;
+
+/**
+ * Records scroll callbacks which ViewPager delivers, so they can be replayed offline by {@link ScrollPlayer}
+ * in regression tests and benchmarks. Callbacks are stored in primitive arrays, recording does not allocate
+ * unless arrays grow.
+ * <p>
+ * Usage:
+ * <ul>
+ * <li>{@link #start(ViewPager)} starts recording, previous callbacks are discarded
+ * </li>
+ * <li>{@link #stop()} stops it and {@link #writeTo(File)} saves recorded callbacks
+ * </li>
+ * </ul>
+ * </p>
+ */
+
+public class ScrollRecorder implements ViewPager.OnPageChangeListener {
+
+    private final ScrollRecording mRecording;
+
+    /**
+     * Pager which is recorded, null when recording is stopped
+     */
+    @Nullable
+    private ViewPager mViewPager;
+
+    public ScrollRecorder() {
+        mRecording = new ScrollRecording();
+    }
+
+    /**
+     * @param capacity count of callbacks which fit into recorder without growing its buffers
+     */
+    public ScrollRecorder(int capacity) {
+        mRecording = new ScrollRecording(capacity);
+    }
+
+    /**
+     * Starts recording of given pager, previously recorded callbacks are discarded
+     *
+     * @param pager recorded pager
+     */
+    public void start(@NonNull ViewPager pager) {
+        stop();
+        mRecording.clear();
+
+        mViewPager = pager;
+        mViewPager.addOnPageChangeListener(this);
+    }
+
+    /**
+     * Stops recording, recorded callbacks are kept
+     */
+    public void stop() {
+        if (mViewPager != null) {
+            mViewPager.removeOnPageChangeListener(this);
+            mViewPager = null;
+        }
+    }
+
+    /**
+     * @return true if pager is being recorded
+     */
+    public boolean isRecording() {
+        return mViewPager != null;
+    }
+
+    /**
+     * @return recorded callbacks, they change while recording is in progress
+     */
+    @NonNull
+    public ScrollRecording getRecording() {
+        return mRecording;
+    }
+
+    /**
+     * Writes recorded callbacks into file in format read by {@link ScrollRecording#read(java.io.InputStream)}
+     *
+     * @param file target file, it is overwritten
+     * @throws IOException when file can not be written
+     */
+    public void writeTo(@NonNull File file) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        try {
+            mRecording.write(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        mRecording.add(System.nanoTime(), position, positionOffset, positionOffsetPixels);
+    }
+
+    @Override
+    public void onPageSelected(int position) {
+        // ignored
+    }
+
+    @Override
+    public void onPageScrollStateChanged(int state) {
+        // ignored
+    }
+}
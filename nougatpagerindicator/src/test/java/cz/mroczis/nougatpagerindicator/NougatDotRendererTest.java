@@ -0,0 +1,58 @@
+package cz.mroczis.nougatpagerindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks default renderer by {@link DotRendererHarness}
+ */
+
+public class NougatDotRendererTest {
+
+    @Test
+    public void drawingDoesNotAllocate() {
+        for (int dotsCount : new int[]{10, 1000, 100000}) {
+            DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), dotsCount);
+            assertEquals("bytes per frame with " + dotsCount + " dots", 0D, harness.measureAllocatedBytesPerFrame(), 0D);
+        }
+    }
+
+    @Test
+    public void drawsEveryVisibleDot() {
+        DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), 10);
+        harness.drawFrame();
+
+        // Nine inactive dots and the selected one
+        assertEquals(10, harness.getCanvas().getDrawCalls());
+    }
+
+    @Test
+    public void harnessDetectsAllocatingRenderer() {
+        DotRendererHarness harness = new DotRendererHarness(new AllocatingRenderer(), 10);
+        assertTrue(harness.measureAllocatedBytesPerFrame() > 0D);
+    }
+
+    /**
+     * Renderer which creates bounds of glue in each frame
+     */
+    private static final class AllocatingRenderer extends NougatDotRenderer {
+
+        /**
+         * Keeps last bounds reachable, so allocation can not be eliminated by compiler
+         */
+        RectF mLastBounds;
+
+        @Override
+        public void drawGlue(@NonNull Canvas canvas, float left, float right, float centerY, float radius, float ratio, boolean leftToRight, @NonNull Paint paint) {
+            mLastBounds = new RectF();
+            canvas.drawRoundRect(mLastBounds, radius, radius, paint);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package cz.mroczis.nougatpagerindicator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that code of {@link PagerIndicator} running in every frame does not allocate - scroll callbacks
+ * connecting and disconnecting glue, animation steps of glue, requests of redraw and drawing through canvas adapter.
+ * Frames are driven by {@link DotRendererHarness}.
+ */
+
+public class PagerIndicatorAllocationTest {
+
+    private static final int[] DOTS_COUNTS = {10, 1000, 100000};
+
+    @Test
+    public void scrollingAndDrawingDoesNotAllocate() {
+        for (int dotsCount : DOTS_COUNTS) {
+            DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), dotsCount);
+            assertNoAllocations("default", dotsCount, harness);
+        }
+    }
+
+    @Test
+    public void batchedDrawingDoesNotAllocate() {
+        for (int dotsCount : DOTS_COUNTS) {
+            DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), dotsCount);
+            harness.getIndicator().setBatchedDrawingEnabled(true);
+            assertNoAllocations("batched", dotsCount, harness);
+        }
+    }
+
+    @Test
+    public void dotsWithStatusDoNotAllocate() {
+        for (int dotsCount : DOTS_COUNTS) {
+            DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), dotsCount);
+            PagerIndicator indicator = harness.getIndicator();
+            indicator.setStatusColor(1, 0xFF00FF00);
+            indicator.setStatusColor(2, 0xFFFF0000);
+            indicator.setDotStatus(0, dotsCount / 2, 1);
+            indicator.setDotStatus(dotsCount / 2 + 1, dotsCount - 1, 2);
+            assertNoAllocations("statuses", dotsCount, harness);
+        }
+    }
+
+    @Test
+    public void springAnimationDoesNotAllocate() {
+        for (int dotsCount : DOTS_COUNTS) {
+            DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), dotsCount);
+            harness.getIndicator().setSpringAnimationEnabled(true);
+            assertNoAllocations("spring", dotsCount, harness);
+        }
+    }
+
+    @Test
+    public void boundedWindowDoesNotAllocate() {
+        for (int dotsCount : DOTS_COUNTS) {
+            DotRendererHarness harness = new DotRendererHarness(new NougatDotRenderer(), dotsCount);
+            harness.getIndicator().setMaxVisibleDots(9);
+            assertNoAllocations("bounded", dotsCount, harness);
+        }
+    }
+
+    private static void assertNoAllocations(String scenario, int dotsCount, DotRendererHarness harness) {
+        assertEquals("bytes per frame of " + scenario + " indicator with " + dotsCount + " dots", 0D, harness.measureAllocatedBytesPerFrame(), 0D);
+    }
+}
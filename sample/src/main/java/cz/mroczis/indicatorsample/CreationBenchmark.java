@@ -0,0 +1,68 @@
+package cz.mroczis.indicatorsample;
+
+import android.content.Context;
+import android.support.annotation.WorkerThread;
+
+import java.util.concurrent.TimeUnit;
+
+import cz.mroczis.nougatpagerindicator.IndicatorStyle;
+import cz.mroczis.nougatpagerindicator.PagerIndicator;
+
+/**
+ * Measures how long it takes to create many instances of {@link PagerIndicator}, as rows of RecyclerView do.
+ * Indicators are created either by constructor which resolves attributes and resources for each instance
+ * or by constructor with one shared {@link IndicatorStyle}. XML is not inflated, so parsing of layout is not measured.
+ */
+class CreationBenchmark {
+
+    /**
+     * Count of indicators created before measuring, so both variants run with warmed up code
+     */
+    private static final int WARMUP_COUNT = 50;
+
+    private final Context mContext;
+    private final IndicatorStyle mStyle;
+
+    CreationBenchmark(Context context) {
+        mContext = context.getApplicationContext();
+        mStyle = new IndicatorStyle.Builder(mContext).build();
+    }
+
+    /**
+     * @param count count of created indicators
+     * @return time in microseconds needed to create given count of indicators which resolve their attributes
+     */
+    @WorkerThread
+    long measureResolvedAttributes(int count) {
+        createResolved(WARMUP_COUNT);
+
+        long start = System.nanoTime();
+        createResolved(count);
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    /**
+     * @param count count of created indicators
+     * @return time in microseconds needed to create given count of indicators with shared style
+     */
+    @WorkerThread
+    long measureSharedStyle(int count) {
+        createStyled(WARMUP_COUNT);
+
+        long start = System.nanoTime();
+        createStyled(count);
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    private void createResolved(int count) {
+        for (int i = 0; i < count; ++i) {
+            new PagerIndicator(mContext);
+        }
+    }
+
+    private void createStyled(int count) {
+        for (int i = 0; i < count; ++i) {
+            new PagerIndicator(mContext, mStyle);
+        }
+    }
+}
@@ -4,7 +4,10 @@ import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v4.view.ViewPager;
 import android.support.v7.app.AppCompatActivity;
+import android.support.v7.app.AlertDialog;
 import android.support.v7.widget.Toolbar;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
 import android.widget.Button;
 
@@ -19,6 +22,16 @@ public class MainActivity extends AppCompatActivity {
 
     private static final int DEFAULT_VIEW_PAGER_POSITION = 3;
 
+    /**
+     * Count of indicators created by {@link CreationBenchmark}, roughly rows of long RecyclerView
+     */
+    private static final int BENCHMARK_INDICATORS_COUNT = 500;
+
+    /**
+     * True while {@link CreationBenchmark} runs
+     */
+    private boolean mBenchmarkRunning;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -31,6 +44,62 @@ public class MainActivity extends AppCompatActivity {
         setupManualIndicator();
     }
 
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_main, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_creation_benchmark) {
+            runCreationBenchmark();
+            return true;
+        }
+
+        return super.onOptionsItemSelected(item);
+    }
+
+    /**
+     * Compares creation of {@link PagerIndicator} which resolves its attributes with creation using shared style.
+     * Indicators are created on background thread, so UI does not freeze, result is shown when it is done.
+     */
+    private void runCreationBenchmark() {
+        if (mBenchmarkRunning) {
+            return;
+        }
+
+        mBenchmarkRunning = true;
+        final CreationBenchmark benchmark = new CreationBenchmark(this);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final long resolved = benchmark.measureResolvedAttributes(BENCHMARK_INDICATORS_COUNT);
+                final long sharedStyle = benchmark.measureSharedStyle(BENCHMARK_INDICATORS_COUNT);
+
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        showBenchmarkResult(resolved, sharedStyle);
+                    }
+                });
+            }
+        }, "CreationBenchmark").start();
+    }
+
+    private void showBenchmarkResult(long resolved, long sharedStyle) {
+        mBenchmarkRunning = false;
+
+        if (!isFinishing()) {
+            new AlertDialog.Builder(this)
+                    .setTitle(R.string.action_creation_benchmark)
+                    .setMessage(getString(R.string.creation_benchmark_result, BENCHMARK_INDICATORS_COUNT, resolved, sharedStyle))
+                    .setPositiveButton(android.R.string.ok, null)
+                    .show();
+        }
+    }
+
     /**
      * Simple usage of {@link PagerIndicator} when it is not used with {@link ViewPager}
      */